@@ -5,24 +5,30 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 
 import static io.cucumber.c21e.IO.copy;
 
 public class Exe {
+    // Enough for an error message and a stack trace
+    private static final int STDERR_CAPACITY = 64 * 1024;
+
     private final ExeFile exeFile;
     private Process process;
-    private File stderrFile;
     private File file;
+    private Thread stdinPump;
+    private volatile IOException stdinException;
+    private Thread stderrPump;
+    private StderrTail stderr;
 
     public Exe(ExeFile exeFile) {
         this.exeFile = exeFile;
     }
 
     /**
-     * Executes the executable.
+     * Executes the executable. STDIN is written to the executable on a separate thread, so STDOUT can be read while
+     * the executable is still reading its input.
      *
      * @param args  command line arguments
      * @param stdin stream to write to the executable's STDIN
@@ -30,38 +36,140 @@ public class Exe {
      * @throws IOException if stream processing failed
      */
     public InputStream execute(List<String> args, InputStream stdin) throws IOException {
+        startProcess(args);
+        if (stdin != null) {
+            OutputStream processStdin = process.getOutputStream();
+            stdinPump = startDaemon("c21e-stdin", () -> {
+                try (OutputStream out = processStdin) {
+                    copy(stdin, out);
+                    out.flush();
+                } catch (IOException e) {
+                    stdinException = e;
+                }
+            });
+        }
+        return process.getInputStream();
+    }
+
+    /**
+     * Starts the executable as a server, handling many requests with one process. Requests are written to
+     * {@link #getStdin()} and responses read from {@link #getStdout()}. {@link #waitFor()} closes STDIN, which should
+     * make the executable exit.
+     *
+     * @param args command line arguments
+     * @throws IOException if the executable could not be started
+     */
+    public void start(List<String> args) throws IOException {
+        startProcess(args);
+    }
+
+    /**
+     * @return the STDIN of the started executable
+     */
+    public OutputStream getStdin() {
+        return process.getOutputStream();
+    }
+
+    /**
+     * @return the STDOUT of the started executable
+     */
+    public InputStream getStdout() {
+        return process.getInputStream();
+    }
+
+    private void startProcess(List<String> args) throws IOException {
         file = exeFile.extract();
         List<String> allArgs = new ArrayList<>();
         allArgs.add(file.getAbsolutePath());
         allArgs.addAll(args);
 
         ProcessBuilder processBuilder = new ProcessBuilder().command(allArgs);
-        stderrFile = File.createTempFile("stderr-", ".log");
-        stderrFile.deleteOnExit();
-        processBuilder.redirectError(stderrFile);
         process = processBuilder.start();
-        if (stdin != null) {
-            OutputStream processStdin = process.getOutputStream();
-            copy(stdin, processStdin);
-            processStdin.flush();
-            processStdin.close();
-        }
-        return process.getInputStream();
+        stdinPump = null;
+        stdinException = null;
+        stderr = new StderrTail(STDERR_CAPACITY);
+        InputStream processStderr = process.getErrorStream();
+        StderrTail tail = stderr;
+        stderrPump = startDaemon("c21e-stderr", () -> {
+            try (InputStream in = processStderr) {
+                byte[] buf = new byte[4096];
+                int read;
+                while ((read = in.read(buf)) > 0) {
+                    tail.write(buf, read);
+                }
+            } catch (IOException ignored) {
+                // The process was destroyed
+            }
+        });
+    }
+
+    private static Thread startDaemon(String name, Runnable runnable) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
     }
 
     /**
-     * Waits for the executable to finish.
+     * Waits for the executable to finish. When STDIN is not written by {@link #execute(List, InputStream)}, as for
+     * a server, it is closed first.
      *
      * @throws IOException          if execution failed
      * @throws InterruptedException if execution failed
      */
     public void waitFor() throws InterruptedException, IOException {
+        if (stdinPump == null) {
+            process.getOutputStream().close();
+        }
         process.waitFor();
+        if (stdinPump != null) {
+            stdinPump.join();
+        }
+        stderrPump.join();
         if (process.exitValue() != 0) {
-            byte[] stderr = Files.readAllBytes(stderrFile.toPath());
             throw new ExeException(String.format("Error executing %s.\nSTDERR:%s",
                     file.getAbsolutePath(),
-                    new String(stderr, StandardCharsets.UTF_8)));
+                    stderr));
+        }
+        if (stdinException != null) {
+            throw stdinException;
+        }
+    }
+
+    /**
+     * Kills the executable.
+     */
+    public void destroy() {
+        process.destroy();
+    }
+
+    /**
+     * The last bytes written to STDERR.
+     */
+    private static final class StderrTail {
+        private final byte[] buffer;
+        private long written;
+
+        StderrTail(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        synchronized void write(byte[] bytes, int length) {
+            for (int i = Math.max(0, length - buffer.length); i < length; i++) {
+                buffer[(int) (written++ % buffer.length)] = bytes[i];
+            }
+        }
+
+        @Override
+        public synchronized String toString() {
+            if (written <= buffer.length) {
+                return new String(buffer, 0, (int) written, StandardCharsets.UTF_8);
+            }
+            int start = (int) (written % buffer.length);
+            byte[] tail = new byte[buffer.length];
+            System.arraycopy(buffer, start, tail, 0, buffer.length - start);
+            System.arraycopy(buffer, 0, tail, buffer.length - start, start);
+            return "..." + new String(tail, StandardCharsets.UTF_8);
         }
     }
 }
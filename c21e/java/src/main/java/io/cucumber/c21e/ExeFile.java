@@ -5,8 +5,17 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Resolves a file pattern to a platform-specific executable file. The pattern can use the following tokens to refer to
@@ -20,49 +29,163 @@ import java.util.Map;
  * These values will be replaced with values corresponding to the names
  * <a href="https://gist.github.com/asukakenji/f15ba7e588ac42795f421b48b8aede63">Go's cross-compiler</a> uses for its
  * output.
+ * <p>
+ * Executables are extracted to a cache shared by all VMs, {@code ~/.cache/c21e/<sha256>/<file name>}, and reused
+ * for as long as their content is the same.
  */
 public class ExeFile {
+    // Executables extracted by this VM, by cache dir and source
+    private static final ConcurrentMap<String, File> EXTRACTED = new ConcurrentHashMap<>();
+
     private final File exeDir;
     private final Map<Object, Object> props;
     private final String fileName;
+    private final File cacheDir;
 
     public ExeFile(File exeDir, String fileNamePattern) {
         this(exeDir, fileNamePattern, System.getProperties());
     }
 
     ExeFile(File exeDir, String executablePattern, Map<Object, Object> props) {
+        this(exeDir, executablePattern, props, defaultCacheDir(props));
+    }
+
+    ExeFile(File exeDir, String executablePattern, Map<Object, Object> props, File cacheDir) {
         this.exeDir = exeDir;
         this.props = props;
+        this.cacheDir = cacheDir;
         this.fileName = executablePattern
                 .replace("{{.OS}}", getOs())
                 .replace("{{.Arch}}", getArch())
                 .replace("{{.Ext}}", getExt());
     }
 
+    private static File defaultCacheDir(Map<Object, Object> props) {
+        String userHome = (String) props.get("user.home");
+        if (userHome == null) {
+            userHome = System.getProperty("user.home");
+        }
+        // Without a home directory executables are extracted to temporary files
+        return userHome == null ? null : new File(userHome, ".cache/c21e");
+    }
+
     private String getExt() {
         return "windows".equals(getOs()) ? ".exe" : "";
     }
 
     /**
-     * Extracts the executable file. The file is made executable, and will be deleted when the VM exits.
+     * Extracts the executable file. The file is made executable, and is reused by later extractions, also by other
+     * VMs. When the cache can't be written to the file is extracted to a temporary file instead, which will be
+     * deleted when the VM exits.
      */
     public File extract() {
-        try {
-            InputStream is = getInputStream();
-
-            File exeFile = File.createTempFile(fileName, "");
-            exeFile.deleteOnExit();
-            try (FileOutputStream os = new FileOutputStream(exeFile)) {
-                IO.copy(is, os);
-                is.close();
+        if (cacheDir == null) {
+            try {
+                return extractToTempFile();
+            } catch (IOException | SecurityException e) {
+                throw new ExeException("Couldn't extract " + fileName, e);
             }
-            if (!exeFile.setExecutable(true)) {
-                throw new ExeException(String.format("Unable to make %s executable", exeFile.getAbsolutePath()));
+        }
+        String key = cacheDir.getAbsolutePath() + File.pathSeparator + exeDir.getAbsolutePath() + File.separator + fileName;
+        File extracted = EXTRACTED.get(key);
+        if (extracted != null && extracted.canExecute()) {
+            return extracted;
+        }
+        try {
+            try {
+                extracted = extractToCache();
+            } catch (IOException | SecurityException e) {
+                extracted = extractToTempFile();
             }
-            return exeFile;
         } catch (IOException | SecurityException e) {
             throw new ExeException("Couldn't extract " + fileName, e);
         }
+        EXTRACTED.put(key, extracted);
+        return extracted;
+    }
+
+    /**
+     * Extracts the executable to a directory named after its checksum. Files are written to a temporary file first
+     * and renamed, so other VMs never see a partially written executable.
+     */
+    private File extractToCache() throws IOException {
+        String checksum;
+        try (InputStream is = getInputStream()) {
+            checksum = sha256(is, null);
+        }
+        Path exeFile = cacheDir.toPath().resolve(checksum).resolve(fileName);
+        if (Files.isRegularFile(exeFile) && isExtracted(exeFile, checksum)) {
+            return exeFile.toFile();
+        }
+
+        Files.createDirectories(exeFile.getParent());
+        Path tempFile = Files.createTempFile(exeFile.getParent(), fileName, ".tmp");
+        try {
+            String copiedChecksum;
+            try (InputStream is = getInputStream(); OutputStream os = Files.newOutputStream(tempFile)) {
+                copiedChecksum = sha256(is, os);
+            }
+            if (!checksum.equals(copiedChecksum)) {
+                throw new IOException(String.format("Checksum of %s changed while extracting", fileName));
+            }
+            if (!tempFile.toFile().setExecutable(true)) {
+                throw new IOException(String.format("Unable to make %s executable", tempFile));
+            }
+            try {
+                Files.move(tempFile, exeFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                // Another VM may have extracted and be executing it
+                if (!(Files.isRegularFile(exeFile) && isExtracted(exeFile, checksum))) {
+                    throw e;
+                }
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        return exeFile.toFile();
+    }
+
+    private static boolean isExtracted(Path exeFile, String checksum) throws IOException {
+        try (InputStream is = Files.newInputStream(exeFile)) {
+            return checksum.equals(sha256(is, null)) && exeFile.toFile().canExecute();
+        }
+    }
+
+    private File extractToTempFile() throws IOException {
+        File exeFile = File.createTempFile(fileName, "");
+        exeFile.deleteOnExit();
+        try (InputStream is = getInputStream(); FileOutputStream os = new FileOutputStream(exeFile)) {
+            IO.copy(is, os);
+        }
+        if (!exeFile.setExecutable(true)) {
+            throw new ExeException(String.format("Unable to make %s executable", exeFile.getAbsolutePath()));
+        }
+        return exeFile;
+    }
+
+    /**
+     * Calculates the checksum of a stream, copying it to {@code out} if not null.
+     */
+    private static String sha256(InputStream in, OutputStream out) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        DigestInputStream digestIn = new DigestInputStream(in, digest);
+        byte[] buf = new byte[8192];
+        int read;
+        while ((read = digestIn.read(buf)) > 0) {
+            if (out != null) {
+                out.write(buf, 0, read);
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
     }
 
     private InputStream getInputStream() throws IOException {
@@ -195,4 +318,8 @@ public class ExeFile {
     String getFileName() {
         return fileName;
     }
+
+    File getCacheDir() {
+        return cacheDir;
+    }
 }
@@ -1,14 +1,23 @@
 package io.cucumber.c21e;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.HashMap;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 public class ExeFileTest {
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
 
     @Test
     public void generates_file_name_for_darwin() {
@@ -28,6 +37,15 @@ public class ExeFileTest {
         assertEquals("gherkin-windows-386.exe", exeFile.getFileName());
     }
 
+    @Test
+    public void caches_in_user_home_of_system_properties_by_default() {
+        ExeFile exeFile = new ExeFile(new File("gherkin"), "gherkin-{{.OS}}-{{.Arch}}{{.Ext}}", new HashMap<Object, Object>() {{
+            put("os.name", "Mac OS X");
+            put("os.arch", "x86_64");
+        }});
+        assertEquals(new File(System.getProperty("user.home"), ".cache/c21e"), exeFile.getCacheDir());
+    }
+
     @Test
     public void throws_exception_with_explanation_when_file_not_found() {
         final ExeFile exeFile = new ExeFile(new File("gherkin"), "notfound-{{.OS}}-{{.Arch}}{{.Ext}}", new HashMap<Object, Object>() {{
@@ -40,4 +58,46 @@ public class ExeFileTest {
         ExeException exeException = assertThrows(ExeException.class, exeFile::extract);
         assertEquals(expectedMessage, exeException.getMessage());
     }
+
+    @Test
+    public void extracts_to_cache_named_after_checksum() throws IOException {
+        File exeDir = temp.newFolder("exe");
+        File cacheDir = temp.newFolder("cache");
+        Files.write(new File(exeDir, "hello").toPath(), "hello".getBytes(UTF_8));
+
+        File extracted = new ExeFile(exeDir, "hello", System.getProperties(), cacheDir).extract();
+
+        String sha256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+        assertEquals(new File(new File(cacheDir, sha256), "hello").getAbsolutePath(), extracted.getAbsolutePath());
+        assertArrayEquals("hello".getBytes(UTF_8), Files.readAllBytes(extracted.toPath()));
+        assertTrue(extracted.canExecute());
+    }
+
+    @Test
+    public void reuses_extracted_file() throws IOException {
+        File exeDir = temp.newFolder("exe");
+        File cacheDir = temp.newFolder("cache");
+        Files.write(new File(exeDir, "hello").toPath(), "hello".getBytes(UTF_8));
+
+        File extracted = new ExeFile(exeDir, "hello", System.getProperties(), cacheDir).extract();
+        long lastModified = extracted.lastModified();
+
+        assertEquals(extracted, new ExeFile(exeDir, "hello", System.getProperties(), cacheDir).extract());
+        assertEquals(lastModified, extracted.lastModified());
+    }
+
+    @Test
+    public void replaces_corrupt_extracted_file() throws IOException {
+        File exeDir = temp.newFolder("exe");
+        File cacheDir = temp.newFolder("cache");
+        Files.write(new File(exeDir, "hello").toPath(), "hello".getBytes(UTF_8));
+        File corrupt = new File(new File(cacheDir, "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824"), "hello");
+        assertTrue(corrupt.getParentFile().mkdirs());
+        Files.write(corrupt.toPath(), "hell".getBytes(UTF_8));
+
+        File extracted = new ExeFile(exeDir, "hello", System.getProperties(), cacheDir).extract();
+
+        assertEquals(corrupt.getAbsolutePath(), extracted.getAbsolutePath());
+        assertArrayEquals("hello".getBytes(UTF_8), Files.readAllBytes(extracted.toPath()));
+    }
 }
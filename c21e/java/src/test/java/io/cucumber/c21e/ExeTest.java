@@ -0,0 +1,93 @@
+package io.cucumber.c21e;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+import static io.cucumber.c21e.IO.copy;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+public class ExeTest {
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+    private File exeDir;
+
+    @Before
+    public void requireShell() throws IOException {
+        assumeFalse(System.getProperty("os.name").startsWith("Windows"));
+        exeDir = temp.newFolder("exe");
+    }
+
+    @Test
+    public void streams_stdout_while_writing_stdin() throws IOException, InterruptedException {
+        // Larger than the pipe buffers, writing all of it first would block
+        byte[] input = new byte[8 * 1024 * 1024];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = (byte) ('a' + i % 26);
+        }
+        Exe exe = new Exe(script("cat.sh", "cat"));
+
+        InputStream stdout = exe.execute(emptyList(), new ByteArrayInputStream(input));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        copy(stdout, output);
+        exe.waitFor();
+
+        assertArrayEquals(input, output.toByteArray());
+    }
+
+    @Test
+    public void keeps_the_end_of_stderr() throws IOException {
+        Exe exe = new Exe(script("fail.sh", "" +
+                "i=0\n" +
+                "while [ $i -lt 10000 ]; do echo \"line $i\" >&2; i=$((i+1)); done\n" +
+                "exit 3"));
+
+        exe.execute(emptyList(), null);
+        ExeException exception = assertThrows(ExeException.class, exe::waitFor);
+
+        String message = exception.getMessage();
+        assertTrue(message, message.endsWith("line 9999\n"));
+        assertTrue(message, message.contains("STDERR:..."));
+        assertTrue(message, message.length() < 70 * 1024);
+    }
+
+    @Test
+    public void handles_many_requests_with_one_process() throws IOException, InterruptedException {
+        Exe exe = new Exe(script("echo.sh", "while read line; do echo \"got $line\"; done"));
+
+        exe.start(emptyList());
+        OutputStream stdin = exe.getStdin();
+        BufferedReader stdout = new BufferedReader(new InputStreamReader(exe.getStdout(), UTF_8));
+        for (int i = 0; i < 3; i++) {
+            stdin.write(("request " + i + "\n").getBytes(UTF_8));
+            stdin.flush();
+            assertEquals("got request " + i, stdout.readLine());
+        }
+        exe.waitFor();
+
+        assertNull(stdout.readLine());
+    }
+
+    private ExeFile script(String name, String body) throws IOException {
+        Files.write(new File(exeDir, name).toPath(), ("#!/bin/sh\n" + body + "\n").getBytes(UTF_8));
+        return new ExeFile(exeDir, name, System.getProperties(), temp.newFolder());
+    }
+}
@@ -1,12 +1,28 @@
 package io.cucumber.config;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
 
 class AnnotationBuilder implements MapBuilder {
+    // The attributes of each annotation type, resolved once
+    private static final ClassValue<Attribute[]> ATTRIBUTES = new ClassValue<Attribute[]>() {
+        @Override
+        protected Attribute[] computeValue(Class<?> annotationType) {
+            Method[] declaredMethods = annotationType.getDeclaredMethods();
+            Attribute[] attributes = new Attribute[declaredMethods.length];
+            for (int i = 0; i < declaredMethods.length; i++) {
+                attributes[i] = new Attribute(declaredMethods[i]);
+            }
+            return attributes;
+        }
+    };
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Annotation.class);
+
     private final Annotation annotation;
 
     AnnotationBuilder(Annotation annotation) {
@@ -16,16 +32,33 @@ class AnnotationBuilder implements MapBuilder {
     @Override
     public Map<String, ?> buildMap() {
         Map<String, Object> result = new HashMap<>();
-        Method[] declaredMethods = annotation.annotationType().getDeclaredMethods();
-        for (Method declaredMethod : declaredMethods) {
+        for (Attribute attribute : ATTRIBUTES.get(annotation.annotationType())) {
+            result.put(attribute.key, attribute.get(annotation));
+        }
+        return result;
+    }
+
+    private static final class Attribute {
+        private final String key;
+        private final MethodHandle getter;
+
+        Attribute(Method method) {
+            this.key = method.getName();
             try {
-                String key = declaredMethod.getName();
-                Object value = declaredMethod.invoke(annotation);
-                result.put(key, value);
-            } catch (IllegalAccessException | InvocationTargetException e) {
+                this.getter = MethodHandles.lookup().unreflect(method).asType(GETTER_TYPE);
+            } catch (IllegalAccessException e) {
                 throw new RuntimeException(e);
             }
         }
-        return result;
+
+        Object get(Annotation annotation) {
+            try {
+                return (Object) getter.invokeExact(annotation);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        }
     }
 }
@@ -77,8 +77,9 @@ public class ConfigBuilder {
 
         FieldSetter fieldSetter = new FieldSetter(config);
         for (MapBuilder mapBuilder : mapBuilders) {
-            fieldSetter.setFields(mapBuilder.buildMap());
+            fieldSetter.addValues(mapBuilder.buildMap());
         }
+        fieldSetter.setFields();
         return config;
     }
 
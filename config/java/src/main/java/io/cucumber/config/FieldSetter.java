@@ -1,64 +1,162 @@
 package io.cucumber.config;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 import static java.util.Arrays.asList;
 
 class FieldSetter {
+    // The fields of each config class, resolved once and shared by all
+    // builds of that class
+    private static final ClassValue<ConcurrentMap<String, Binding>> BINDINGS = new ClassValue<ConcurrentMap<String, Binding>>() {
+        @Override
+        protected ConcurrentMap<String, Binding> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
     private final Object config;
+    private final Map<String, Binding> bindings;
+    private final Map<Binding, Object> values = new LinkedHashMap<>();
 
     FieldSetter(Object config) {
         this.config = config;
+        this.bindings = BINDINGS.get(config.getClass());
     }
 
     void setFields(Map<String, ?> map) {
+        addValues(map);
+        setFields();
+    }
+
+    /**
+     * Adds values to set. Values of later maps replace those of earlier
+     * maps, so only the value that is set is converted.
+     */
+    void addValues(Map<String, ?> map) {
         for (Map.Entry<String, ?> entry : map.entrySet()) {
             String key = entry.getKey();
             Object value = entry.getValue();
-            setField(key, value);
+            values.put(getBinding(key), value);
         }
     }
 
-    private void setField(String key, Object value) {
-        try {
-            Field field = getField(key);
-
-            Object fieldValue;
-            if (field.getType().isAssignableFrom(String.class)) {
-                fieldValue = toString(value);
-            } else if (isBoolean(field)) {
-                fieldValue = toBoolean(value);
-            } else if (isInteger(field)) {
-                fieldValue = toInteger(value);
-            } else if (isList(field)) {
-                fieldValue = toList(value);
-            } else if (isEnum(field)) {
-                fieldValue = toEnum(value, (Class) field.getType());
-            } else if (isPattern(field)) {
-                fieldValue = toPattern(value);
-            } else {
-                throw new RuntimeException(String.format("Can't convert %s to %s", value.getClass().getName(), field.getType().getName()));
+    void setFields() {
+        for (Map.Entry<Binding, Object> entry : values.entrySet()) {
+            entry.getKey().set(config, entry.getValue());
+        }
+        values.clear();
+    }
+
+    private Binding getBinding(String key) {
+        String fieldName = fieldName(key);
+        Binding binding = bindings.get(fieldName);
+        if (binding == null) {
+            try {
+                binding = new Binding(config.getClass().getField(fieldName));
+            } catch (NoSuchFieldException e) {
+                throw new RuntimeException(e);
+            }
+            Binding existing = bindings.putIfAbsent(fieldName, binding);
+            if (existing != null) {
+                binding = existing;
             }
-            field.set(config, fieldValue);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
         }
+        return binding;
     }
 
-    private Field getField(String key) {
-        String fieldName = key.toLowerCase().replaceAll("_", "");
-        try {
-            return config.getClass().getField(fieldName);
-        } catch (NoSuchFieldException e) {
-            throw new RuntimeException(e);
+    private static String fieldName(String key) {
+        StringBuilder fieldName = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c != '_') {
+                fieldName.append(Character.toLowerCase(c));
+            }
         }
+        return fieldName.toString();
     }
 
     boolean isBoolean(String key) {
-        return isBoolean(getField(key));
+        return isBoolean(getBinding(key).field);
+    }
+
+    private interface Converter {
+        Object convert(Object value);
+    }
+
+    /**
+     * Sets a field of a config class, converting values to the type of the
+     * field.
+     */
+    private static final class Binding {
+        private final Field field;
+        private final Converter converter;
+        private final MethodHandle setter;
+        private final IllegalAccessException notSettable;
+
+        Binding(Field field) {
+            this.field = field;
+            this.converter = converter(field);
+            MethodHandle setter = null;
+            IllegalAccessException notSettable = null;
+            try {
+                setter = MethodHandles.lookup().unreflectSetter(field);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    setter = MethodHandles.dropArguments(setter, 0, Object.class);
+                }
+                setter = setter.asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                // Fails when setting the field, like reflection would
+                notSettable = e;
+            }
+            this.setter = setter;
+            this.notSettable = notSettable;
+        }
+
+        void set(Object config, Object value) {
+            Object fieldValue = converter.convert(value);
+            if (setter == null) {
+                throw new RuntimeException(notSettable);
+            }
+            try {
+                setter.invokeExact(config, fieldValue);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        }
+    }
+
+    private static Converter converter(Field field) {
+        Class<?> type = field.getType();
+        if (type.isAssignableFrom(String.class)) {
+            return FieldSetter::toString;
+        } else if (isBoolean(field)) {
+            return FieldSetter::toBoolean;
+        } else if (isInteger(field)) {
+            return FieldSetter::toInteger;
+        } else if (isList(field)) {
+            return FieldSetter::toList;
+        } else if (isEnum(field)) {
+            return value -> toEnum(value, (Class) type);
+        } else if (isPattern(field)) {
+            return FieldSetter::toPattern;
+        } else {
+            return value -> {
+                throw new RuntimeException(String.format("Can't convert %s to %s", value.getClass().getName(), type.getName()));
+            };
+        }
     }
 
     private static Object single(Object value) {
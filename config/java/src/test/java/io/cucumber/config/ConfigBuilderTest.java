@@ -53,4 +53,25 @@ public class ConfigBuilderTest {
         assertEquals("Hello from ENV", config.message); // From env vars
         assertTrue(config.somebool); // From env vars
     }
+
+    @Test
+    public void converts_only_the_value_that_is_set() {
+        ConfigBuilder configBuilder = new ConfigBuilder(
+                "src/test/resources/does-not-exist",
+                new String[]{"not-used"},
+                null,
+                new HashMap<>(),
+                new HashMap<String, String>() {{
+                    put("TESTING_REGEXP", "(");
+                }},
+                "testing",
+                "--regexp ^hello$".split(" "),
+                new HashMap<String, String>(),
+                "not-used"
+        );
+
+        // The invalid pattern from env vars is replaced by the command line
+        assertEquals("^hello$", configBuilder.build(new MyConfig()).regexp.pattern());
+        assertEquals("^hello$", configBuilder.build(new MyConfig()).regexp.pattern());
+    }
 }
@@ -0,0 +1,139 @@
+package io.cucumber.cucumberexpressions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Abstract syntax tree of a {@link CucumberExpression}.
+ */
+final class Ast {
+
+    private Ast() {
+    }
+
+    static final class Node {
+        enum Type {
+            /**
+             * Literal text, already unescaped.
+             */
+            TEXT,
+            /**
+             * A parameter, the text is the name of the parameter type.
+             */
+            PARAMETER,
+            /**
+             * Optional text, the children are text and alternations.
+             */
+            OPTIONAL,
+            /**
+             * Alternative text, the children are two or more alternatives.
+             */
+            ALTERNATION,
+            /**
+             * A single alternative, the children are any node but an
+             * alternation.
+             */
+            ALTERNATIVE
+        }
+
+        private final Type type;
+        private final String text;
+        private final List<Node> nodes;
+
+        private Node(Type type, String text, List<Node> nodes) {
+            this.type = type;
+            this.text = text;
+            this.nodes = nodes;
+        }
+
+        static Node text(String text) {
+            return new Node(Type.TEXT, text, emptyList());
+        }
+
+        static Node parameter(String name) {
+            return new Node(Type.PARAMETER, name, emptyList());
+        }
+
+        static Node optional(List<Node> nodes) {
+            return new Node(Type.OPTIONAL, null, nodes);
+        }
+
+        static Node alternation(List<Node> alternatives) {
+            return new Node(Type.ALTERNATION, null, unmodifiableList(alternatives));
+        }
+
+        static Node alternative(List<Node> nodes) {
+            return new Node(Type.ALTERNATIVE, null, nodes);
+        }
+
+        Type getType() {
+            return type;
+        }
+
+        String getText() {
+            return text;
+        }
+
+        List<Node> getNodes() {
+            return nodes;
+        }
+
+        @Override
+        public String toString() {
+            switch (type) {
+                case TEXT:
+                    return text;
+                case PARAMETER:
+                    return "{" + text + "}";
+                default:
+                    return type + nodes.toString();
+            }
+        }
+    }
+
+    /**
+     * Collects a sequence of nodes, merging adjacent text.
+     */
+    static final class Sequence {
+        private final List<Node> nodes = new ArrayList<>();
+        private final StringBuilder text = new StringBuilder();
+
+        void append(char c) {
+            text.append(c);
+        }
+
+        void append(Node node) {
+            if (node.type == Node.Type.TEXT) {
+                text.append(node.text);
+                return;
+            }
+            flushText();
+            nodes.add(node);
+        }
+
+        void appendAll(List<Node> nodes) {
+            for (Node node : nodes) {
+                append(node);
+            }
+        }
+
+        boolean isEmpty() {
+            return nodes.isEmpty() && text.length() == 0;
+        }
+
+        List<Node> build() {
+            flushText();
+            return unmodifiableList(new ArrayList<>(nodes));
+        }
+
+        private void flushText() {
+            if (text.length() > 0) {
+                nodes.add(Node.text(text.toString()));
+                text.setLength(0);
+            }
+        }
+    }
+}
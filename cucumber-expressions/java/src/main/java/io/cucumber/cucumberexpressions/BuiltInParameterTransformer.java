@@ -4,6 +4,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.text.DecimalFormatSymbols;
 import java.util.Locale;
 import java.util.Optional;
 
@@ -14,7 +15,11 @@ final class BuiltInParameterTransformer implements ParameterByTypeTransformer {
     private final NumberParser numberParser;
 
     BuiltInParameterTransformer(Locale locale) {
-        this.numberParser = new NumberParser(locale);
+        this(DecimalFormatSymbols.getInstance(locale));
+    }
+
+    BuiltInParameterTransformer(DecimalFormatSymbols numberFormat) {
+        this.numberParser = new NumberParser(numberFormat);
     }
 
     @Override
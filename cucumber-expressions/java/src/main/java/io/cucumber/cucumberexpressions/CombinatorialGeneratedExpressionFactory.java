@@ -1,9 +1,11 @@
 package io.cucumber.cucumberexpressions;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+
+import static java.util.Arrays.asList;
 
 final class CombinatorialGeneratedExpressionFactory {
     // 256 generated expressions ought to be enough for anybody
@@ -21,34 +23,64 @@ final class CombinatorialGeneratedExpressionFactory {
 
     List<GeneratedExpression> generateExpressions() {
         List<GeneratedExpression> generatedExpressions = new ArrayList<>();
-        ArrayDeque<ParameterType<?>> permutation = new ArrayDeque<>(parameterTypeCombinations.size());
-        generatePermutations(generatedExpressions, permutation);
+        Iterator<GeneratedExpression> iterator = iterator();
+        while (iterator.hasNext()) {
+            generatedExpressions.add(iterator.next());
+        }
         return generatedExpressions;
     }
 
-    private void generatePermutations(
-            List<GeneratedExpression> generatedExpressions,
-            Deque<ParameterType<?>> permutation
-    ) {
-        if (generatedExpressions.size() >= MAX_EXPRESSIONS) {
-            return;
+    /**
+     * Lazily generates the permutations of parameter types, in the same
+     * order as {@link #generateExpressions()}.
+     */
+    Iterator<GeneratedExpression> iterator() {
+        return new PermutationIterator();
+    }
+
+    private final class PermutationIterator implements Iterator<GeneratedExpression> {
+        // Index of the next parameter type to use for each position. The
+        // last position varies fastest.
+        private final int[] indices = new int[parameterTypeCombinations.size()];
+        private int generated;
+        private boolean exhausted = containsEmptyCombination();
+
+        @Override
+        public boolean hasNext() {
+            return !exhausted && generated < MAX_EXPRESSIONS;
         }
 
-        if (permutation.size() == parameterTypeCombinations.size()) {
-            ArrayList<ParameterType<?>> permutationCopy = new ArrayList<>(permutation);
-            generatedExpressions.add(new GeneratedExpression(expressionTemplate, permutationCopy));
-            return;
+        @Override
+        public GeneratedExpression next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ParameterType<?>[] permutation = new ParameterType<?>[indices.length];
+            for (int i = 0; i < indices.length; i++) {
+                permutation[i] = parameterTypeCombinations.get(i).get(indices[i]);
+            }
+            generated++;
+            advance();
+            return new GeneratedExpression(expressionTemplate, asList(permutation));
+        }
+
+        private void advance() {
+            for (int i = indices.length - 1; i >= 0; i--) {
+                if (++indices[i] < parameterTypeCombinations.get(i).size()) {
+                    return;
+                }
+                indices[i] = 0;
+            }
+            exhausted = true;
         }
 
-        List<ParameterType<?>> parameterTypes = parameterTypeCombinations.get(permutation.size());
-        for (ParameterType<?> parameterType : parameterTypes) {
-            // Avoid recursion if no elements can be added.
-            if (generatedExpressions.size() >= MAX_EXPRESSIONS) {
-                return;
+        private boolean containsEmptyCombination() {
+            for (List<ParameterType<?>> parameterTypes : parameterTypeCombinations) {
+                if (parameterTypes.isEmpty()) {
+                    return true;
+                }
             }
-            permutation.addLast(parameterType);
-            generatePermutations(generatedExpressions, permutation);
-            permutation.removeLast();
+            return false;
         }
     }
 }
@@ -1,24 +1,19 @@
 package io.cucumber.cucumberexpressions;
 
+import io.cucumber.cucumberexpressions.Ast.Node;
 import org.apiguardian.api.API;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @API(status = API.Status.STABLE)
 public final class CucumberExpression implements Expression {
-    // Does not include (){} characters because they have special meaning
-    private static final Pattern ESCAPE_PATTERN = Pattern.compile("([\\\\^\\[$.|?*+\\]])");
     @SuppressWarnings("RegExpRedundantEscape") // Android can't parse unescaped braces
     static final Pattern PARAMETER_PATTERN = Pattern.compile("(\\\\\\\\)?\\{([^}]*)\\}");
-    private static final Pattern OPTIONAL_PATTERN = Pattern.compile("(\\\\\\\\)?\\(([^)]+)\\)");
-    private static final Pattern ALTERNATIVE_NON_WHITESPACE_TEXT_REGEXP = Pattern.compile("([^\\s^/]+)((/[^\\s^/]+)+)");
-    private static final String DOUBLE_ESCAPE = "\\\\";
-    private static final String PARAMETER_TYPES_CANNOT_BE_ALTERNATIVE = "Parameter types cannot be alternative: ";
-    private static final String PARAMETER_TYPES_CANNOT_BE_OPTIONAL = "Parameter types cannot be optional: ";
+    // Does not include / because it has no special meaning in a regexp
+    private static final String ESCAPED_CHARACTERS = "\\^[]$.|?*+(){}";
 
     private final List<ParameterType<?>> parameterTypes = new ArrayList<>();
     private final String source;
@@ -29,89 +24,72 @@ public final class CucumberExpression implements Expression {
         this.source = expression;
         this.parameterTypeRegistry = parameterTypeRegistry;
 
-        expression = processEscapes(expression);
-        expression = processOptional(expression);
-        expression = processAlternation(expression);
-        expression = processParameters(expression, parameterTypeRegistry);
-        expression = "^" + expression + "$";
-        treeRegexp = new TreeRegexp(expression);
+        List<Node> ast = CucumberExpressionParser.parse(expression);
+        StringBuilder regexp = new StringBuilder(expression.length() * 2).append('^');
+        rewriteToRegexp(ast, regexp);
+        regexp.append('$');
+        treeRegexp = parameterTypeRegistry.lookupTreeRegexp(regexp.toString());
     }
 
-    private String processEscapes(String expression) {
-        // This will cause explicitly-escaped parentheses to be double-escaped
-        return ESCAPE_PATTERN.matcher(expression).replaceAll("\\\\$1");
-    }
-
-    private String processAlternation(String expression) {
-        Matcher matcher = ALTERNATIVE_NON_WHITESPACE_TEXT_REGEXP.matcher(expression);
-        StringBuffer sb = new StringBuffer();
-        while (matcher.find()) {
-            // replace \/ with /
-            // replace / with |
-            String replacement = matcher.group(0).replace('/', '|').replaceAll("\\\\\\|", "/");
-
-            if (replacement.contains("|")) {
-                // Make sure the alternative parts don't contain parameter types
-                for (String part : replacement.split("\\|")) {
-                    checkNotParameterType(part, PARAMETER_TYPES_CANNOT_BE_ALTERNATIVE);
-                }
-                matcher.appendReplacement(sb, "(?:" + replacement + ")");
-            } else {
-                // All / were escaped
-                matcher.appendReplacement(sb, replacement);
+    private void rewriteToRegexp(List<Node> nodes, StringBuilder regexp) {
+        for (Node node : nodes) {
+            switch (node.getType()) {
+                case TEXT:
+                    escapeRegexp(node.getText(), regexp);
+                    break;
+                case PARAMETER:
+                    rewriteParameterToRegexp(node.getText(), regexp);
+                    break;
+                case OPTIONAL:
+                    regexp.append("(?:");
+                    rewriteToRegexp(node.getNodes(), regexp);
+                    regexp.append(")?");
+                    break;
+                case ALTERNATION:
+                    rewriteAlternationToRegexp(node.getNodes(), regexp);
+                    break;
+                case ALTERNATIVE:
+                    rewriteToRegexp(node.getNodes(), regexp);
+                    break;
+                default:
+                    throw new IllegalStateException(node.getType().name());
             }
         }
-        matcher.appendTail(sb);
-        return sb.toString();
     }
 
-    private void checkNotParameterType(String s, String message) {
-        Matcher matcher = PARAMETER_PATTERN.matcher(s);
-        if (matcher.find()) {
-            throw new CucumberExpressionException(message + source);
+    private void rewriteAlternationToRegexp(List<Node> alternatives, StringBuilder regexp) {
+        regexp.append("(?:");
+        boolean bar = false;
+        for (Node alternative : alternatives) {
+            if (bar) regexp.append('|');
+            rewriteToRegexp(alternative.getNodes(), regexp);
+            bar = true;
         }
+        regexp.append(')');
     }
 
-    private String processOptional(String expression) {
-        Matcher matcher = OPTIONAL_PATTERN.matcher(expression);
-        StringBuffer sb = new StringBuffer();
-        while (matcher.find()) {
-            // look for double-escaped parentheses
-            String parameterPart = matcher.group(2);
-            if (DOUBLE_ESCAPE.equals(matcher.group(1))) {
-                matcher.appendReplacement(sb, "\\\\(" + parameterPart + "\\\\)");
-            } else {
-                checkNotParameterType(parameterPart, PARAMETER_TYPES_CANNOT_BE_OPTIONAL);
-                matcher.appendReplacement(sb, "(?:" + parameterPart + ")?");
-            }
+    private void rewriteParameterToRegexp(String typeName, StringBuilder regexp) {
+        ParameterType.checkParameterTypeName(typeName);
+        ParameterType<?> parameterType = parameterTypeRegistry.lookupByTypeName(typeName);
+        if (parameterType == null) {
+            throw new UndefinedParameterTypeException(typeName);
         }
-        matcher.appendTail(sb);
-        return sb.toString();
+        parameterTypes.add(parameterType);
+        buildCaptureRegexp(parameterType.getRegexps(), regexp);
     }
 
-    private String processParameters(String expression, ParameterTypeRegistry parameterTypeRegistry) {
-        StringBuffer sb = new StringBuffer();
-        Matcher matcher = PARAMETER_PATTERN.matcher(expression);
-        while (matcher.find()) {
-            if (DOUBLE_ESCAPE.equals(matcher.group(1))) {
-                matcher.appendReplacement(sb, "\\\\{" + matcher.group(2) + "\\\\}");
-            } else {
-                String typeName = matcher.group(2);
-                ParameterType.checkParameterTypeName(typeName);
-                ParameterType<?> parameterType = parameterTypeRegistry.lookupByTypeName(typeName);
-                if (parameterType == null) {
-                    throw new UndefinedParameterTypeException(typeName);
-                }
-                parameterTypes.add(parameterType);
-                matcher.appendReplacement(sb, Matcher.quoteReplacement(buildCaptureRegexp(parameterType.getRegexps())));
+    private static void escapeRegexp(String text, StringBuilder regexp) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (ESCAPED_CHARACTERS.indexOf(c) >= 0) {
+                regexp.append('\\');
             }
+            regexp.append(c);
         }
-        matcher.appendTail(sb);
-        return sb.toString();
     }
 
-    private String buildCaptureRegexp(List<String> regexps) {
-        StringBuilder sb = new StringBuilder("(");
+    private static void buildCaptureRegexp(List<String> regexps, StringBuilder sb) {
+        sb.append('(');
 
         if (regexps.size() == 1) {
             sb.append(regexps.get(0));
@@ -124,8 +102,7 @@ public final class CucumberExpression implements Expression {
             }
         }
 
-        sb.append(")");
-        return sb.toString();
+        sb.append(')');
     }
 
     @Override
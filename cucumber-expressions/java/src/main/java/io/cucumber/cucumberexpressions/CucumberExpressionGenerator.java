@@ -6,13 +6,26 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterators.spliteratorUnknownSize;
+
+/**
+ * Generates Cucumber Expressions for undefined steps.
+ * <p>
+ * The generator is thread safe. Expressions for many steps may be generated
+ * concurrently.
+ */
 @API(status = API.Status.STABLE)
 public final class CucumberExpressionGenerator {
     private final ParameterTypeRegistry parameterTypeRegistry;
@@ -22,6 +35,24 @@ public final class CucumberExpressionGenerator {
     }
 
     public List<GeneratedExpression> generateExpressions(String text) {
+        return createGeneratedExpressionFactory(text).generateExpressions();
+    }
+
+    /**
+     * Lazily generates expressions for the text. Expressions are generated
+     * in the same order as {@link #generateExpressions(String)} but only
+     * when consumed. Use {@code streamExpressions(text).findFirst()} when only
+     * the best expression is needed.
+     *
+     * @param text the text (step) to generate expressions for
+     * @return a stream of generated expressions
+     */
+    public Stream<GeneratedExpression> streamExpressions(String text) {
+        Iterator<GeneratedExpression> iterator = createGeneratedExpressionFactory(text).iterator();
+        return StreamSupport.stream(spliteratorUnknownSize(iterator, ORDERED | NONNULL), false);
+    }
+
+    private CombinatorialGeneratedExpressionFactory createGeneratedExpressionFactory(String text) {
         List<List<ParameterType<?>>> parameterTypeCombinations = new ArrayList<>();
         List<ParameterTypeMatcher> parameterTypeMatchers = createParameterTypeMatchers(text);
         StringBuilder expressionTemplate = new StringBuilder();
@@ -75,7 +106,7 @@ public final class CucumberExpressionGenerator {
             }
         }
         expressionTemplate.append(escape(text.substring(pos)));
-        return new CombinatorialGeneratedExpressionFactory(expressionTemplate.toString(), parameterTypeCombinations).generateExpressions();
+        return new CombinatorialGeneratedExpressionFactory(expressionTemplate.toString(), parameterTypeCombinations);
     }
 
     private String escape(String s) {
@@ -88,12 +119,11 @@ public final class CucumberExpressionGenerator {
     /**
      * @param text the text (step) to generate an expression for
      * @return the first of the generated expressions
-     * @deprecated use {@link #generateExpressions(String)}
+     * @deprecated use {@link #generateExpressions(String)} or {@link #streamExpressions(String)}
      */
     @Deprecated
     public GeneratedExpression generateExpression(String text) {
-        List<GeneratedExpression> generatedExpressions = generateExpressions(text);
-        return generatedExpressions.get(0);
+        return createGeneratedExpressionFactory(text).iterator().next();
     }
 
     private List<ParameterTypeMatcher> createParameterTypeMatchers(String text) {
@@ -107,11 +137,11 @@ public final class CucumberExpressionGenerator {
         return parameterTypeMatchers;
     }
 
-    private static List<ParameterTypeMatcher> createParameterTypeMatchers(ParameterType<?> parameterType, String text) {
+    private List<ParameterTypeMatcher> createParameterTypeMatchers(ParameterType<?> parameterType, String text) {
         List<ParameterTypeMatcher> result = new ArrayList<>();
         List<String> captureGroupRegexps = parameterType.getRegexps();
         for (String captureGroupRegexp : captureGroupRegexps) {
-            Pattern regexp = Pattern.compile("(" + captureGroupRegexp + ")");
+            Pattern regexp = parameterTypeRegistry.lookupCaptureGroupPattern(captureGroupRegexp);
             Matcher matcher = regexp.matcher(text);
             result.add(new ParameterTypeMatcher(parameterType, matcher, text));
         }
@@ -0,0 +1,180 @@
+package io.cucumber.cucumberexpressions;
+
+import io.cucumber.cucumberexpressions.Ast.Node;
+import io.cucumber.cucumberexpressions.Ast.Sequence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses a Cucumber Expression into an {@link Ast} in a single pass.
+ * <p>
+ * The grammar is:
+ * <ul>
+ * <li>{@code {name}} is a parameter.</li>
+ * <li>{@code (text)} is optional text. It may contain alternative text but
+ * no parameters.</li>
+ * <li>{@code a/b} is alternative text. Alternation is bounded by
+ * whitespace and may not contain parameters. A {@code /} next
+ * to whitespace or another {@code /} is literal text.</li>
+ * <li>{@code \(}, {@code \{} and {@code \/} escape the special meaning of
+ * {@code (}, {@code {} and {@code /}. A backslash before any other character
+ * is literal text.</li>
+ * <li>Everything else, including a {@code (} or {@code {} that is never
+ * closed, is literal text.</li>
+ * </ul>
+ */
+final class CucumberExpressionParser {
+    private static final String PARAMETER_TYPES_CANNOT_BE_ALTERNATIVE = "Parameter types cannot be alternative: ";
+    private static final String PARAMETER_TYPES_CANNOT_BE_OPTIONAL = "Parameter types cannot be optional: ";
+
+    private final String expression;
+    private int pos;
+    private boolean optionalParameterType;
+    private boolean alternativeParameterType;
+
+    private CucumberExpressionParser(String expression) {
+        this.expression = expression;
+    }
+
+    static List<Node> parse(String expression) {
+        return new CucumberExpressionParser(expression).parse();
+    }
+
+    private List<Node> parse() {
+        Sequence sequence = new Sequence();
+        parseWords(sequence, expression.length(), false);
+        if (optionalParameterType) {
+            throw new CucumberExpressionException(PARAMETER_TYPES_CANNOT_BE_OPTIONAL + expression);
+        }
+        if (alternativeParameterType) {
+            throw new CucumberExpressionException(PARAMETER_TYPES_CANNOT_BE_ALTERNATIVE + expression);
+        }
+        return sequence.build();
+    }
+
+    private void parseWords(Sequence sequence, int end, boolean optional) {
+        while (pos < end) {
+            char c = expression.charAt(pos);
+            if (isWhitespace(c)) {
+                sequence.append(c);
+                pos++;
+            } else {
+                parseWord(sequence, end, optional);
+            }
+        }
+    }
+
+    private void parseWord(Sequence sequence, int end, boolean optional) {
+        List<Sequence> alternatives = new ArrayList<>();
+        Sequence alternative = new Sequence();
+        boolean hasParameter = false;
+        while (pos < end) {
+            char c = expression.charAt(pos);
+            if (isWhitespace(c)) {
+                break;
+            }
+            if (isEscape(pos, end)) {
+                alternative.append(expression.charAt(pos + 1));
+                pos += 2;
+            } else if (c == '/') {
+                alternatives.add(alternative);
+                alternative = new Sequence();
+                pos++;
+            } else if (c == '(' && !optional) {
+                parseOptional(alternative);
+            } else if (c == '{' && !optional) {
+                hasParameter |= parseParameter(alternative);
+            } else {
+                if (c == '{') {
+                    int parameterEnd = expression.indexOf('}', pos + 1);
+                    optionalParameterType |= parameterEnd > pos && parameterEnd < end;
+                }
+                alternative.append(c);
+                pos++;
+            }
+        }
+        alternatives.add(alternative);
+
+        if (alternatives.size() == 1) {
+            sequence.appendAll(alternative.build());
+            return;
+        }
+
+        // Only non-empty alternatives separated by a single / alternate.
+        // Any other / is literal text.
+        int i = 0;
+        while (i < alternatives.size()) {
+            int j = i;
+            while (j + 1 < alternatives.size() && !alternatives.get(j).isEmpty() && !alternatives.get(j + 1).isEmpty()) {
+                j++;
+            }
+            if (j > i) {
+                List<Node> nodes = new ArrayList<>(j - i + 1);
+                for (int k = i; k <= j; k++) {
+                    nodes.add(Node.alternative(alternatives.get(k).build()));
+                }
+                alternativeParameterType |= hasParameter && containsParameter(nodes);
+                sequence.append(Node.alternation(nodes));
+            } else {
+                sequence.appendAll(alternatives.get(i).build());
+            }
+            if (j + 1 < alternatives.size()) {
+                sequence.append('/');
+            }
+            i = j + 1;
+        }
+    }
+
+    private void parseOptional(Sequence sequence) {
+        int end = expression.indexOf(')', pos + 1);
+        if (end <= pos + 1) {
+            // Empty or unterminated
+            sequence.append('(');
+            pos++;
+            return;
+        }
+        pos++;
+        Sequence optional = new Sequence();
+        parseWords(optional, end, true);
+        sequence.append(Node.optional(optional.build()));
+        pos = end + 1;
+    }
+
+    private boolean parseParameter(Sequence sequence) {
+        int end = expression.indexOf('}', pos + 1);
+        if (end < 0) {
+            // Unterminated
+            sequence.append('{');
+            pos++;
+            return false;
+        }
+        sequence.append(Node.parameter(expression.substring(pos + 1, end)));
+        pos = end + 1;
+        return true;
+    }
+
+    private boolean isEscape(int i, int end) {
+        if (expression.charAt(i) != '\\' || i + 1 >= end) {
+            return false;
+        }
+        char c = expression.charAt(i + 1);
+        return c == '(' || c == '{' || c == '/';
+    }
+
+    private static boolean containsParameter(List<Node> alternatives) {
+        for (Node alternative : alternatives) {
+            for (Node node : alternative.getNodes()) {
+                if (node.getType() == Node.Type.PARAMETER) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWhitespace(char c) {
+        // Same as \s in a regular expression
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -1,44 +1,122 @@
 package io.cucumber.cucumberexpressions;
 
 import java.math.BigDecimal;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
-import java.text.ParseException;
+import java.text.DecimalFormatSymbols;
 import java.util.Locale;
 
+/**
+ * Parses localized numbers by rewriting the locale specific grouping,
+ * decimal, exponent and minus symbols to their canonical form and
+ * delegating to {@link Double#parseDouble(String)},
+ * {@link Float#parseFloat(String)} or {@link BigDecimal#BigDecimal(char[], int, int)}.
+ * <p>
+ * Unlike {@link java.text.DecimalFormat} this parser is stateless and
+ * therefore thread safe. Doubles and floats are not parsed as big
+ * decimals first.
+ */
 final class NumberParser {
-    private final NumberFormat numberFormat;
+    private final char groupingSeparator;
+    private final char decimalSeparator;
+    private final char minusSign;
+    private final String exponentSeparator;
 
     NumberParser(Locale locale) {
-        numberFormat = DecimalFormat.getNumberInstance(locale);
-        if (numberFormat instanceof DecimalFormat) {
-            DecimalFormat decimalFormat = (DecimalFormat) numberFormat;
-            decimalFormat.setParseBigDecimal(true);
-        }
+        this(DecimalFormatSymbols.getInstance(locale));
+    }
+
+    NumberParser(DecimalFormatSymbols symbols) {
+        this.groupingSeparator = symbols.getGroupingSeparator();
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.minusSign = symbols.getMinusSign();
+        this.exponentSeparator = symbols.getExponentSeparator();
     }
 
     double parseDouble(String s) {
-        return parse(s).doubleValue();
+        try {
+            return Double.parseDouble(canonicalString(s));
+        } catch (NumberFormatException e) {
+            throw createParseException(e);
+        }
     }
 
     float parseFloat(String s) {
-        return parse(s).floatValue();
+        try {
+            return Float.parseFloat(canonicalString(s));
+        } catch (NumberFormatException e) {
+            throw createParseException(e);
+        }
     }
 
     BigDecimal parseBigDecimal(String s) {
-        if (numberFormat instanceof DecimalFormat) {
-            return (BigDecimal) parse(s);
+        char[] canonical = new char[s.length()];
+        int length = canonicalize(s, canonical);
+        try {
+            return new BigDecimal(canonical, 0, length);
+        } catch (NumberFormatException e) {
+            throw createParseException(e);
         }
-        // Fall back to default big decimal format
-        // if the locale does not have a DecimalFormat
-        return new BigDecimal(s);
     }
 
-    private Number parse(String s) {
-        try {
-            return numberFormat.parse(s);
-        } catch (ParseException e) {
-            throw new CucumberExpressionException("Failed to parse number", e);
+    private String canonicalString(String s) {
+        if (isCanonical(s)) {
+            return s;
         }
+        char[] canonical = new char[s.length()];
+        int length = canonicalize(s, canonical);
+        return new String(canonical, 0, length);
+    }
+
+    private boolean isCanonical(String s) {
+        boolean canonicalExponent = "E".equals(exponentSeparator);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9' || c == '+') {
+                continue;
+            }
+            if (c == '.' && decimalSeparator == '.' && groupingSeparator != '.') {
+                continue;
+            }
+            if (c == '-' && minusSign == '-') {
+                continue;
+            }
+            if (c == 'E' && canonicalExponent) {
+                continue;
+            }
+            return false;
+        }
+        return !s.isEmpty();
+    }
+
+    /**
+     * Writes the canonical form of {@code s} into {@code canonical} and
+     * returns the number of characters written.
+     */
+    private int canonicalize(String s, char[] canonical) {
+        int length = 0;
+        int i = 0;
+        while (i < s.length()) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9' || c == '+') {
+                canonical[length++] = c;
+            } else if (c == groupingSeparator) {
+                // Grouping separators carry no value
+            } else if (c == decimalSeparator) {
+                canonical[length++] = '.';
+            } else if (c == minusSign || c == '-') {
+                canonical[length++] = '-';
+            } else if (!exponentSeparator.isEmpty() && s.startsWith(exponentSeparator, i)) {
+                canonical[length++] = 'E';
+                i += exponentSeparator.length();
+                continue;
+            } else {
+                throw new CucumberExpressionException("Failed to parse number '" + s + "'");
+            }
+            i++;
+        }
+        return length;
+    }
+
+    private static CucumberExpressionException createParseException(NumberFormatException e) {
+        return new CucumberExpressionException("Failed to parse number", e);
     }
 }
@@ -1,7 +1,6 @@
 package io.cucumber.cucumberexpressions;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 final class ParameterTypeMatcher implements Comparable<ParameterTypeMatcher> {
     private final ParameterType<?> parameterType;
@@ -15,7 +14,26 @@ final class ParameterTypeMatcher implements Comparable<ParameterTypeMatcher> {
     }
 
     private static boolean isWhitespaceOrPunctuationOrSymbol(char c) {
-        return Pattern.matches("[\\p{Z}\\p{P}\\p{S}]", new String(new char[] { c }));
+        // Equivalent to [\p{Z}\p{P}\p{S}]
+        switch (Character.getType(c)) {
+            case Character.SPACE_SEPARATOR:
+            case Character.LINE_SEPARATOR:
+            case Character.PARAGRAPH_SEPARATOR:
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+            case Character.MATH_SYMBOL:
+            case Character.CURRENCY_SYMBOL:
+            case Character.MODIFIER_SYMBOL:
+            case Character.OTHER_SYMBOL:
+                return true;
+            default:
+                return false;
+        }
     }
 
     boolean advanceToAndFind(int newMatchPos) {
@@ -12,12 +12,23 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import static io.cucumber.cucumberexpressions.ParameterType.createAnonymousParameterType;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySortedSet;
 import static java.util.Collections.singletonList;
-
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSortedSet;
+
+/**
+ * Registry of parameter types.
+ * <p>
+ * The registry is thread safe. Once configured it and the expressions
+ * created from it can be shared by any number of threads.
+ */
 @API(status = API.Status.STABLE)
 public final class ParameterTypeRegistry {
     // Pattern.compile(...).pattern() is not necessary, but it helps us take advantage of the IntelliJ's regexp validation,
@@ -41,25 +52,35 @@ public final class ParameterTypeRegistry {
             Pattern.compile("'([^'\\\\]*(\\\\.[^'\\\\]*)*)'").pattern()
     );
     private static final String ANONYMOUS_REGEX = Pattern.compile(".*").pattern();
-    private final Map<String, ParameterType<?>> parameterTypeByName = new HashMap<>();
-    private final Map<String, SortedSet<ParameterType<?>>> parameterTypesByRegexp = new HashMap<>();
+    // Both maps are published together so readers never see one updated
+    // without the other
+    private volatile ParameterTypes parameterTypes = new ParameterTypes(emptyMap(), emptyMap());
     /**
      * To maintain consistency with `datatable` we don't use the mutable default
      * transformer to handle build in in conversions yet.
      */
     private final ParameterByTypeTransformer internalParameterTransformer;
-    private ParameterByTypeTransformer defaultParameterTransformer;
+    private volatile ParameterByTypeTransformer defaultParameterTransformer;
+    /**
+     * Cucumber expressions often translate to the same regexp. For example
+     * when they differ only in the names of parameter types that share a
+     * regexp.
+     */
+    private final Map<String, TreeRegexp> treeRegexpsByRegexp = new ConcurrentHashMap<>();
+    private final Map<String, Pattern> captureGroupPatternsByRegexp = new ConcurrentHashMap<>();
 
     public ParameterTypeRegistry(Locale locale) {
-        this(new BuiltInParameterTransformer(locale), locale);
+        this(DecimalFormatSymbols.getInstance(locale));
+    }
+
+    private ParameterTypeRegistry(DecimalFormatSymbols numberFormat) {
+        this(new BuiltInParameterTransformer(numberFormat), numberFormat);
     }
 
-    private ParameterTypeRegistry(ParameterByTypeTransformer defaultParameterTransformer, Locale locale) {
+    private ParameterTypeRegistry(ParameterByTypeTransformer defaultParameterTransformer, DecimalFormatSymbols numberFormat) {
         this.internalParameterTransformer = defaultParameterTransformer;
         this.defaultParameterTransformer = defaultParameterTransformer;
 
-        DecimalFormatSymbols numberFormat = DecimalFormatSymbols.getInstance(locale);
-
         List<String> localizedFloatRegexp = singletonList(FLOAT_REGEXPS
                 .replace("{decimal}", "" + numberFormat.getDecimalSeparator())
                 .replace("{group}", "" + numberFormat.getGroupingSeparator())
@@ -134,7 +155,18 @@ public final class ParameterTypeRegistry {
         defineParameterType(createAnonymousParameterType(ANONYMOUS_REGEX));
     }
 
-    public void defineParameterType(ParameterType<?> parameterType) {
+    /**
+     * Defines a new parameter type.
+     * <p>
+     * Definitions are copy-on-write. Concurrent definitions are serialized
+     * while lookups and matches on expressions created from this registry
+     * always see a consistent snapshot and never block.
+     *
+     * @param parameterType the parameter type to define
+     */
+    public synchronized void defineParameterType(ParameterType<?> parameterType) {
+        ParameterTypes defined = this.parameterTypes;
+        Map<String, ParameterType<?>> parameterTypeByName = defined.byName;
         if (parameterType.getName() != null) {
             if (parameterTypeByName.containsKey(parameterType.getName())) {
                 if (parameterType.getName().isEmpty()) {
@@ -142,23 +174,30 @@ public final class ParameterTypeRegistry {
                 }
                 throw new DuplicateTypeNameException(String.format("There is already a parameter type with name %s", parameterType.getName()));
             }
+            parameterTypeByName = new HashMap<>(parameterTypeByName);
             parameterTypeByName.put(parameterType.getName(), parameterType);
         }
 
+        Map<String, SortedSet<ParameterType<?>>> parameterTypesByRegexp = new HashMap<>(defined.byRegexp);
         for (String parameterTypeRegexp : parameterType.getRegexps()) {
-            if (!parameterTypesByRegexp.containsKey(parameterTypeRegexp)) {
-                parameterTypesByRegexp.put(parameterTypeRegexp, new TreeSet<ParameterType<?>>());
+            SortedSet<ParameterType<?>> typesForRegexp = parameterTypesByRegexp.get(parameterTypeRegexp);
+            if (typesForRegexp == null) {
+                typesForRegexp = emptySortedSet();
             }
-            SortedSet<ParameterType<?>> parameterTypes = parameterTypesByRegexp.get(parameterTypeRegexp);
-            if (!parameterTypes.isEmpty() && parameterTypes.first().preferForRegexpMatch() && parameterType.preferForRegexpMatch()) {
+            if (!typesForRegexp.isEmpty() && typesForRegexp.first().preferForRegexpMatch() && parameterType.preferForRegexpMatch()) {
                 throw new CucumberExpressionException(String.format(
                         "There can only be one preferential parameter type per regexp. " +
                                 "The regexp /%s/ is used for two preferential parameter types, {%s} and {%s}",
-                        parameterTypeRegexp, parameterTypes.first().getName(), parameterType.getName()
+                        parameterTypeRegexp, typesForRegexp.first().getName(), parameterType.getName()
                 ));
             }
-            parameterTypes.add(parameterType);
+            SortedSet<ParameterType<?>> updated = new TreeSet<>(typesForRegexp);
+            updated.add(parameterType);
+            parameterTypesByRegexp.put(parameterTypeRegexp, unmodifiableSortedSet(updated));
         }
+
+        // Publish the snapshot only after all checks have passed
+        this.parameterTypes = new ParameterTypes(unmodifiableMap(parameterTypeByName), unmodifiableMap(parameterTypesByRegexp));
     }
 
     ParameterByTypeTransformer getDefaultParameterTransformer() {
@@ -170,11 +209,11 @@ public final class ParameterTypeRegistry {
     }
 
     <T> ParameterType<T> lookupByTypeName(String typeName) {
-        return (ParameterType<T>) parameterTypeByName.get(typeName);
+        return (ParameterType<T>) parameterTypes.byName.get(typeName);
     }
 
     <T> ParameterType<T> lookupByRegexp(String parameterTypeRegexp, Pattern expressionRegexp, String text) {
-        SortedSet<ParameterType<?>> parameterTypes = parameterTypesByRegexp.get(parameterTypeRegexp);
+        SortedSet<ParameterType<?>> parameterTypes = this.parameterTypes.byRegexp.get(parameterTypeRegexp);
         if (parameterTypes == null) return null;
         if (parameterTypes.size() > 1 && !parameterTypes.first().preferForRegexpMatch()) {
             // We don't do this check on insertion because we only want to restrict
@@ -186,8 +225,29 @@ public final class ParameterTypeRegistry {
         return (ParameterType<T>) parameterTypes.first();
     }
 
+    TreeRegexp lookupTreeRegexp(String regexp) {
+        return treeRegexpsByRegexp.computeIfAbsent(regexp, TreeRegexp::new);
+    }
+
+    Pattern lookupCaptureGroupPattern(String parameterTypeRegexp) {
+        return captureGroupPatternsByRegexp.computeIfAbsent(parameterTypeRegexp, regexp -> Pattern.compile("(" + regexp + ")"));
+    }
+
     Collection<ParameterType<?>> getParameterTypes() {
-        return parameterTypeByName.values();
+        return parameterTypes.byName.values();
+    }
+
+    /**
+     * An immutable snapshot of the defined parameter types.
+     */
+    private static final class ParameterTypes {
+        final Map<String, ParameterType<?>> byName;
+        final Map<String, SortedSet<ParameterType<?>>> byRegexp;
+
+        ParameterTypes(Map<String, ParameterType<?>> byName, Map<String, SortedSet<ParameterType<?>>> byRegexp) {
+            this.byName = byName;
+            this.byRegexp = byRegexp;
+        }
     }
 
 }
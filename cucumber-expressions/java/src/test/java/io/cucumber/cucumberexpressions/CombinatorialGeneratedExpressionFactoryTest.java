@@ -3,6 +3,8 @@ package io.cucumber.cucumberexpressions;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import static java.util.Arrays.asList;
@@ -45,6 +47,31 @@ public class CombinatorialGeneratedExpressionFactoryTest {
         ), expressions);
     }
 
+    @Test
+    public void generates_expressions_lazily_up_to_the_maximum() {
+        List<ParameterType<?>> colors = new ArrayList<>();
+        colors.add(new ParameterType<>("color", WORD, Color.class, Color::new));
+        colors.add(new ParameterType<>("csscolor", WORD, CssColor.class, CssColor::new));
+        List<List<ParameterType<?>>> parameterTypeCombinations = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            parameterTypeCombinations.add(colors);
+        }
+
+        CombinatorialGeneratedExpressionFactory factory = new CombinatorialGeneratedExpressionFactory(
+                String.join(" ", Collections.nCopies(10, "{%s}")),
+                parameterTypeCombinations
+        );
+
+        Iterator<GeneratedExpression> iterator = factory.iterator();
+        assertEquals(String.join(" ", Collections.nCopies(10, "{color}")), iterator.next().getSource());
+        assertEquals(String.join(" ", Collections.nCopies(9, "{color}")) + " {csscolor}", iterator.next().getSource());
+
+        List<GeneratedExpression> generatedExpressions = factory.generateExpressions();
+        assertEquals(256, generatedExpressions.size());
+        assertEquals("{color} {color} {csscolor} {csscolor} {csscolor} {csscolor} {csscolor} {csscolor} {csscolor} {csscolor}",
+                generatedExpressions.get(255).getSource());
+    }
+
     public static class Color {
         Color(String s) {
             assertNotNull(s);
@@ -10,6 +10,8 @@ import java.util.Currency;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
@@ -330,6 +332,41 @@ public class CucumberExpressionGeneratorTest {
         assertEquals("{zero-or-more} {zero-or-more} {zero-or-more}", generatedExpressions.get(1).getSource());
     }
 
+    @Test
+    public void streams_expressions_in_order() {
+        parameterTypeRegistry.defineParameterType(new ParameterType<>(
+                "currency",
+                "[A-Z]{3}",
+                Currency.class,
+                (Transformer<Currency>) Currency::getInstance,
+                true,
+                false
+        ));
+        String text = "I have 2 EUR";
+        List<String> streamed = generator.streamExpressions(text)
+                .map(GeneratedExpression::getSource)
+                .collect(Collectors.toList());
+        List<String> generated = new ArrayList<>();
+        for (GeneratedExpression generatedExpression : generator.generateExpressions(text)) {
+            generated.add(generatedExpression.getSource());
+        }
+        assertEquals(generated, streamed);
+        assertEquals("I have {int} {currency}", generator.streamExpressions(text).findFirst().get().getSource());
+    }
+
+    @Test
+    public void generates_expressions_for_many_steps_in_parallel() {
+        List<String> sources = IntStream.range(0, 1000)
+                .parallel()
+                .mapToObj(i -> "I have " + i + " cukes in " + i + ".5 \"bellies\"")
+                .map(text -> generator.generateExpressions(text).get(0).getSource())
+                .collect(Collectors.toList());
+
+        for (String source : sources) {
+            assertEquals("I have {int} cukes in {double} {string}", source);
+        }
+    }
+
     private void assertExpression(String expectedExpression, List<String> expectedArgumentNames, String text) {
         GeneratedExpression generatedExpression = generator.generateExpressions(text).get(0);
         assertEquals(expectedExpression, generatedExpression.getSource());
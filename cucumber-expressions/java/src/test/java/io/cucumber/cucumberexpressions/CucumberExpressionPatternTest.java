@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import java.util.Locale;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
  * This test verifies that the regular expression generated
@@ -64,6 +65,54 @@ public class CucumberExpressionPatternTest {
                 "^Привет, Мир(?:ы)?!$");
     }
 
+    @Test
+    public void translates_alternation_inside_optional() {
+        assertPattern(
+                "I have {int} cuke(s/z)",
+                "^I have ((?:-?\\d+)|(?:\\d+)) cuke(?:(?:s|z))?$"
+        );
+    }
+
+    @Test
+    public void escapes_regexp_characters_inside_alternation() {
+        assertPattern(
+                "I have 1.5$/2$",
+                "^I have (?:1\\.5\\$|2\\$)$"
+        );
+    }
+
+    @Test
+    public void translates_escaped_slash_inside_alternation() {
+        assertPattern(
+                "either a\\/b/c",
+                "^either (?:a/b|c)$"
+        );
+    }
+
+    @Test
+    public void translates_slashes_without_alternatives_to_text() {
+        assertPattern(
+                "a / b// c/",
+                "^a / b// c/$"
+        );
+    }
+
+    @Test
+    public void translates_unbalanced_parenthesis_and_braces_to_text() {
+        assertPattern(
+                "a) () b {c (d",
+                "^a\\) \\(\\) b \\{c \\(d$"
+        );
+    }
+
+    @Test
+    public void reuses_regexps_of_identical_expressions() {
+        ParameterTypeRegistry registry = new ParameterTypeRegistry(Locale.ENGLISH);
+        CucumberExpression intExpression = new CucumberExpression("I have {int} cukes", registry);
+        CucumberExpression byteExpression = new CucumberExpression("I have {byte} cukes", registry);
+        assertSame(intExpression.getRegexp(), byteExpression.getRegexp());
+    }
+
     private void assertPattern(String expr, String expectedRegexp) {
         CucumberExpression cucumberExpression = new CucumberExpression(expr, new ParameterTypeRegistry(Locale.ENGLISH));
         assertEquals(expectedRegexp, cucumberExpression.getRegexp().pattern());
@@ -6,12 +6,14 @@ import java.math.BigDecimal;
 import java.util.Locale;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class NumberParserTest {
 
     private final NumberParser english = new NumberParser(Locale.ENGLISH);
     private final NumberParser german = new NumberParser(Locale.GERMAN);
     private final NumberParser canadianFrench = new NumberParser(Locale.CANADA_FRENCH);
+    private final NumberParser swedish = new NumberParser(new Locale("sv"));
 
     @Test
     public void can_parse_float() {
@@ -37,4 +39,19 @@ public class NumberParserTest {
         assertEquals(new BigDecimal("0.01"), english.parseBigDecimal("1E-2"));
     }
 
+    @Test
+    public void can_parse_exponents_and_signs() {
+        assertEquals(-1.5e3, english.parseDouble("-1.5E3"), 0);
+        assertEquals(1.5e-3, german.parseDouble("+1,5E-3"), 0);
+        assertEquals(new BigDecimal("-1.5E3"), swedish.parseBigDecimal("\u22121,5\u00D710^3"));
+    }
+
+    @Test
+    public void throws_on_unparsable_numbers() {
+        assertThrows(CucumberExpressionException.class, () -> english.parseDouble(""));
+        assertThrows(CucumberExpressionException.class, () -> english.parseDouble("1.2.3"));
+        assertThrows(CucumberExpressionException.class, () -> english.parseDouble("NaN"));
+        assertThrows(CucumberExpressionException.class, () -> german.parseBigDecimal("1a"));
+    }
+
 }
@@ -4,7 +4,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -107,6 +112,18 @@ public class ParameterTypeRegistryTest {
         assertThat("Unexpected message", thrownException.getMessage(), is(equalTo(expected)));
     }
 
+    @Test
+    public void suggests_all_generated_expressions_when_no_parameter_types_are_preferential() {
+        registry.defineParameterType(new ParameterType<>("name", CAPITALISED_WORD, Name.class, Name::new, true, false));
+        registry.defineParameterType(new ParameterType<>("person", CAPITALISED_WORD, Person.class, Person::new, true, false));
+        registry.defineParameterType(new ParameterType<>("place", CAPITALISED_WORD, Place.class, Place::new, true, false));
+
+        final Executable testMethod = () -> registry.lookupByRegexp(CAPITALISED_WORD, Pattern.compile("([A-Z]+\\w+) and ([A-Z]+\\w+) and ([A-Z]+\\w+)"), "Lisa and Bob and Anna");
+
+        final AmbiguousParameterTypeException thrownException = assertThrows(AmbiguousParameterTypeException.class, testMethod);
+        assertThat(thrownException.getGeneratedExpressions().size(), is(27));
+    }
+
     @Test
     public void does_not_allow_anonymous_parameter_type_to_be_registered() {
 
@@ -177,4 +194,34 @@ public class ParameterTypeRegistryTest {
         assertThat(expression.match("-,1E1").get(0).getValue(), is(new BigDecimal("-1")));
     }
 
+    @Test
+    public void expressions_can_be_matched_while_parameter_types_are_defined_concurrently() throws Exception {
+        ExpressionFactory factory = new ExpressionFactory(registry);
+        Expression expression = factory.createExpression("I have {int} cukes in {double} bellies");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                int n = i;
+                futures.add(executor.submit(() -> registry.defineParameterType(
+                        new ParameterType<>("type" + n, "type" + n, Name.class, Name::new)
+                )));
+                futures.add(executor.submit(() -> {
+                    List<Argument<?>> match = expression.match("I have " + n + " cukes in 1.5 bellies");
+                    assertThat(match.get(0).getValue(), is(n));
+                    assertThat(match.get(1).getValue(), is(1.5));
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertNotNull(registry.lookupByTypeName("type" + i));
+        }
+    }
+
 }
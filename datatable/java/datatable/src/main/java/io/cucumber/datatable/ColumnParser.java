@@ -0,0 +1,40 @@
+package io.cucumber.datatable;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static io.cucumber.datatable.CucumberDataTableException.cantConvertCell;
+
+/**
+ * Parses the cells of a table into columns of primitives. The cell parser
+ * stores each parsed cell in its column. Empty cells and cells that could
+ * not be parsed are reported with their row and column.
+ */
+final class ColumnParser {
+
+    private ColumnParser() {
+
+    }
+
+    static <C> void parseColumns(List<? extends List<C>> rows, Type type, CellParser<C> cellParser) {
+        for (int row = 0; row < rows.size(); row++) {
+            List<C> cells = rows.get(row);
+            for (int column = 0; column < cells.size(); column++) {
+                C cell = cells.get(column);
+                if (cell == null) {
+                    throw cantConvertCell(type, row, column, null, null);
+                }
+                try {
+                    cellParser.parse(cell, row, column);
+                } catch (RuntimeException e) {
+                    throw cantConvertCell(type, row, column, String.valueOf(cell), e);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface CellParser<C> {
+        void parse(C cell, int row, int column);
+    }
+}
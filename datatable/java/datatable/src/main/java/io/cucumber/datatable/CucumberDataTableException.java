@@ -23,6 +23,22 @@ public class CucumberDataTableException extends RuntimeException {
         );
     }
 
+    static CucumberDataTableException cantConvertCell(Type type, int row, int column, String cell, Throwable cause) {
+        if (cell == null) {
+            return new CucumberDataTableException(
+                    format("Can't convert DataTable to %s. The cell at row %s, column %s was empty", typeName(type), row, column)
+            );
+        }
+        return new CucumberDataTableException(
+                format("Can't convert DataTable to %s. Could not parse the cell at row %s, column %s: '%s'", typeName(type), row, column, cell),
+                cause
+        );
+    }
+
+    static CucumberDataTableException couldNotTransformRow(int row, Throwable cause) {
+        return new CucumberDataTableException(format("Could not transform row %s", row), cause);
+    }
+
     private static CucumberDataTableException cantConvertToMap(Type keyType, Type valueType, String message) {
         return new CucumberDataTableException(
                 format("Can't convert DataTable to Map<%s, %s>.\n%s", typeName(keyType), typeName(valueType), message)
@@ -5,17 +5,23 @@ import org.apiguardian.api.API;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.RandomAccess;
+import java.util.function.Function;
 
+import static io.cucumber.datatable.ColumnParser.parseColumns;
 import static io.cucumber.datatable.CucumberDataTableException.duplicateKeyException;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableList;
-import static java.util.Collections.unmodifiableMap;
 
 /**
  * A m-by-n table of string values. For example:
@@ -45,6 +51,8 @@ public final class DataTable {
 
     private final List<List<String>> raw;
     private final TableConverter tableConverter;
+    // Created on first use. Racy but benign, like String.hashCode
+    private DataTable transposed;
 
     /**
      * Creates a new DataTable.
@@ -89,19 +97,63 @@ public final class DataTable {
         return new DataTable(copy(requireRectangularTable(raw)), tableConverter);
     }
 
+    /**
+     * Creates a new DataTable that wraps the rows and cells of an other
+     * table representation without copying them. For example to wrap a
+     * Gherkin pickle table:
+     *
+     * <pre>
+     * DataTable.wrap(pickleTable.getRowsList(), PickleTableRow::getCellsList, PickleTableCell::getValue, tableConverter);
+     * </pre>
+     * <p>
+     * Because nothing is copied, the rows and cells must be immutable.
+     * The shape of the table is checked once, when it is wrapped.
+     *
+     * @param rows           the rows of the underlying table
+     * @param cells          returns the cells of a row
+     * @param value          returns the value of a cell
+     * @param tableConverter to transform the table
+     * @param <R>            the type of a row
+     * @param <C>            the type of a cell
+     * @return a new data table viewing the rows and cells
+     * @throws NullPointerException     if any argument is null
+     * @throws IllegalArgumentException when the table is not rectangular
+     */
+    @API(status = API.Status.EXPERIMENTAL)
+    public static <R, C> DataTable wrap(List<R> rows, Function<? super R, ? extends List<C>> cells, Function<? super C, String> value, TableConverter tableConverter) {
+        if (rows == null) throw new NullPointerException("rows can not be null");
+        if (cells == null) throw new NullPointerException("cells can not be null");
+        if (value == null) throw new NullPointerException("value can not be null");
+
+        List<List<String>> wrapped = new ArrayList<>(rows.size());
+        int columns = -1;
+        for (R row : rows) {
+            List<C> rowCells = cells.apply(row);
+            if (columns < 0) {
+                columns = rowCells.size();
+            } else if (columns != rowCells.size()) {
+                throw new IllegalArgumentException(String.format("Table is not rectangular: expected %s column(s) but found %s.", columns, rowCells.size()));
+            }
+            wrapped.add(new WrappedRow<>(rowCells, value));
+        }
+        // A table without columns is an empty table and has no rows.
+        if (columns <= 0) {
+            return new DataTable(emptyList(), tableConverter);
+        }
+        return new DataTable(unmodifiableList(wrapped), tableConverter);
+    }
+
     private static List<List<String>> copy(List<List<String>> balanced) {
-        List<List<String>> rawCopy = new ArrayList<>(balanced.size());
-        for (List<String> row : balanced) {
+        String[][] cells = new String[balanced.size()][];
+        int row = 0;
+        for (List<String> cellsOfRow : balanced) {
             // A table without columns is an empty table and has no rows.
-            if (row.isEmpty()) {
+            if (cellsOfRow.isEmpty()) {
                 return emptyList();
             }
-
-            List<String> rowCopy = new ArrayList<>(row.size());
-            rowCopy.addAll(row);
-            rawCopy.add(unmodifiableList(rowCopy));
+            cells[row++] = cellsOfRow.toArray(new String[0]);
         }
-        return unmodifiableList(rawCopy);
+        return new ArrayTable(cells);
     }
 
     private static List<List<String>> requireRectangularTable(List<List<String>> table) {
@@ -210,6 +262,42 @@ public final class DataTable {
         return tableConverter.toLists(this, itemType);
     }
 
+    /**
+     * Converts the table to columns of doubles. The column at index {@code i}
+     * contains the cells of column {@code i} from top to bottom.
+     * <p>
+     * Unlike {@code asLists(Double.class)} the cells are not boxed.
+     *
+     * @return the columns of the table
+     */
+    public double[][] asDoubleColumns() {
+        return tableConverter.toDoubleColumns(this);
+    }
+
+    /**
+     * Converts the table to columns of ints. The column at index {@code i}
+     * contains the cells of column {@code i} from top to bottom.
+     * <p>
+     * Unlike {@code asLists(Integer.class)} the cells are not boxed.
+     *
+     * @return the columns of the table
+     */
+    public int[][] asIntColumns() {
+        return tableConverter.toIntColumns(this);
+    }
+
+    /**
+     * Converts the table to columns of longs. The column at index {@code i}
+     * contains the cells of column {@code i} from top to bottom.
+     * <p>
+     * Unlike {@code asLists(Long.class)} the cells are not boxed.
+     *
+     * @return the columns of the table
+     */
+    public long[][] asLongColumns() {
+        return tableConverter.toLongColumns(this);
+    }
+
     /**
      * Converts the table to a single map of {@code keyType} to {@code valueType}.
      * <p>
@@ -237,22 +325,16 @@ public final class DataTable {
     public List<Map<String, String>> asMaps() {
         if (raw.isEmpty()) return emptyList();
 
-        List<String> headers = raw.get(0);
-        List<Map<String, String>> headersAndRows = new ArrayList<>();
+        // All entries share the same header. Validate it once and expose
+        // each row as a map view over the header rather then copying it.
+        HeaderIndex headerIndex = new HeaderIndex(raw.get(0));
+        if (raw.size() > 1) {
+            headerIndex.requireUniqueKeys(raw.get(1));
+        }
 
+        List<Map<String, String>> headersAndRows = new ArrayList<>(raw.size() - 1);
         for (int i = 1; i < raw.size(); i++) {
-            List<String> row = raw.get(i);
-            LinkedHashMap<String, String> headersAndRow = new LinkedHashMap<>();
-            for (int j = 0; j < headers.size(); j++) {
-                String key = headers.get(j);
-                String value = row.get(j);
-                if (headersAndRow.containsKey(key)) {
-                    String wouldBeReplaced = headersAndRow.get(key);
-                    throw duplicateKeyException(String.class, String.class, key, value, wouldBeReplaced);
-                }
-                headersAndRow.put(key, value);
-            }
-            headersAndRows.add(unmodifiableMap(headersAndRow));
+            headersAndRows.add(new EntryView(headerIndex, raw.get(i)));
         }
 
         return unmodifiableList(headersAndRows);
@@ -520,6 +602,22 @@ public final class DataTable {
         printer.printTable(raw, appendable);
     }
 
+    /**
+     * Prints a string representation of the first {@code maxRows} rows
+     * of this table to the {@code appendable}. Any further rows are
+     * summarized in a single line.
+     *
+     * @param appendable to append the string representation
+     *                   of this table to.
+     * @param maxRows    the maximum number of rows to print
+     * @throws IOException If an I/O error occurs
+     */
+    @API(status = API.Status.EXPERIMENTAL)
+    public void print(Appendable appendable, int maxRows) throws IOException {
+        TablePrinter printer = new TablePrinter(maxRows);
+        printer.printTable(raw, appendable);
+    }
+
     /**
      * Returns a transposed view on this table. Example:
      *
@@ -542,7 +640,12 @@ public final class DataTable {
             TransposedRawDataTableView transposed = (TransposedRawDataTableView) this.raw;
             return transposed.dataTable();
         }
-        return new DataTable(new TransposedRawDataTableView(), tableConverter);
+        DataTable transposed = this.transposed;
+        if (transposed == null) {
+            transposed = new DataTable(new TransposedRawDataTableView(), tableConverter);
+            this.transposed = transposed;
+        }
+        return transposed;
     }
 
     /**
@@ -760,6 +863,54 @@ public final class DataTable {
          */
         <K, V> List<Map<K, V>> toMaps(DataTable dataTable, Type keyType, Type valueType);
 
+        /**
+         * Converts a {@link DataTable} to columns of doubles.
+         * <p>
+         * By default the table is converted to a list of lists of
+         * {@code Double} which are then unboxed into columns.
+         *
+         * @param dataTable the table to convert
+         * @return the columns of the table
+         */
+        default double[][] toDoubleColumns(DataTable dataTable) {
+            List<List<Double>> rows = toLists(dataTable, Double.class);
+            double[][] columns = new double[dataTable.width()][dataTable.height()];
+            parseColumns(rows, double[][].class, (cell, row, column) -> columns[column][row] = cell);
+            return columns;
+        }
+
+        /**
+         * Converts a {@link DataTable} to columns of ints.
+         * <p>
+         * By default the table is converted to a list of lists of
+         * {@code Integer} which are then unboxed into columns.
+         *
+         * @param dataTable the table to convert
+         * @return the columns of the table
+         */
+        default int[][] toIntColumns(DataTable dataTable) {
+            List<List<Integer>> rows = toLists(dataTable, Integer.class);
+            int[][] columns = new int[dataTable.width()][dataTable.height()];
+            parseColumns(rows, int[][].class, (cell, row, column) -> columns[column][row] = cell);
+            return columns;
+        }
+
+        /**
+         * Converts a {@link DataTable} to columns of longs.
+         * <p>
+         * By default the table is converted to a list of lists of
+         * {@code Long} which are then unboxed into columns.
+         *
+         * @param dataTable the table to convert
+         * @return the columns of the table
+         */
+        default long[][] toLongColumns(DataTable dataTable) {
+            List<List<Long>> rows = toLists(dataTable, Long.class);
+            long[][] columns = new long[dataTable.width()][dataTable.height()];
+            parseColumns(rows, long[][].class, (cell, row, column) -> columns[column][row] = cell);
+            return columns;
+        }
+
     }
 
     static final class NoConverterDefined implements TableConverter {
@@ -800,56 +951,126 @@ public final class DataTable {
 
     }
 
-    private final class RawDataTableView extends AbstractList<List<String>> implements RandomAccess {
+    /**
+     * A list of rows that creates each row view once, when it is first
+     * accessed.
+     */
+    private abstract static class RowViews extends AbstractList<List<String>> implements RandomAccess {
+        private final List<String>[] rows;
+
+        @SuppressWarnings("unchecked")
+        RowViews(int height) {
+            this.rows = (List<String>[]) new List[height];
+        }
+
+        abstract List<String> createRow(int row);
+
+        @Override
+        public final List<String> get(int row) {
+            rangeCheckRow(row, size());
+            List<String> view = rows[row];
+            if (view == null) {
+                // Racy but benign, a row view is immutable and has only
+                // final fields so it can be published without locking.
+                view = createRow(row);
+                rows[row] = view;
+            }
+            return view;
+        }
+
+        @Override
+        public final int size() {
+            return rows.length;
+        }
+    }
+
+    private static final class ArrayTable extends RowViews {
+        private final String[][] cells;
+
+        ArrayTable(String[][] cells) {
+            super(cells.length);
+            this.cells = cells;
+        }
+
+        @Override
+        List<String> createRow(int row) {
+            return new ArrayRow(cells[row]);
+        }
+    }
+
+    private static final class ArrayRow extends AbstractList<String> implements RandomAccess {
+        private final String[] cells;
+
+        ArrayRow(String[] cells) {
+            this.cells = cells;
+        }
+
+        @Override
+        public String get(int column) {
+            rangeCheckColumn(column, cells.length);
+            return cells[column];
+        }
+
+        @Override
+        public int size() {
+            return cells.length;
+        }
+    }
+
+    private final class RawDataTableView extends RowViews {
         private final int fromRow;
         private final int fromColumn;
         private final int toColumn;
-        private final int toRow;
 
         RawDataTableView(int fromRow, int fromColumn, int toColumn, int toRow) {
-            if (fromRow < 0)
-                throw new IndexOutOfBoundsException("fromRow: " + fromRow);
-            if (fromColumn < 0)
-                throw new IndexOutOfBoundsException("fromColumn: " + fromColumn);
-            if (toRow > height())
-                throw new IndexOutOfBoundsException("toRow: " + toRow + ", Height: " + height());
-            if (toColumn > width())
-                throw new IndexOutOfBoundsException("toColumn: " + toColumn + ", Width: " + width());
-            if (fromRow > toRow)
-                throw new IllegalArgumentException("fromRow(" + fromRow + ") > toRow(" + toRow + ")");
-            if (fromColumn > toColumn)
-                throw new IllegalArgumentException("fromColumn(" + fromColumn + ") > toColumn(" + toColumn + ")");
-
+            // If there are no columns this is an empty table. An empty table has no rows.
+            super(checkedHeight(fromRow, fromColumn, toColumn, toRow));
             this.fromRow = fromRow;
             this.fromColumn = fromColumn;
             this.toColumn = toColumn;
-            this.toRow = toRow;
         }
 
         @Override
-        public List<String> get(final int row) {
-            rangeCheckRow(row, size());
-            return new AbstractList<String>() {
-                @Override
-                public String get(final int column) {
-                    rangeCheckColumn(column, size());
-                    return raw.get(fromRow + row).get(fromColumn + column);
-                }
-
-                @Override
-                public int size() {
-                    return toColumn - fromColumn;
-                }
-            };
+        List<String> createRow(int row) {
+            return new SubRow(raw.get(fromRow + row));
         }
 
-        @Override
-        public int size() {
-            // If there are no columns this is an empty table. An empty table has no rows.
-            return fromColumn == toColumn ? 0 : toRow - fromRow;
+        private final class SubRow extends AbstractList<String> implements RandomAccess {
+            private final List<String> row;
+
+            SubRow(List<String> row) {
+                this.row = row;
+            }
+
+            @Override
+            public String get(int column) {
+                rangeCheckColumn(column, size());
+                return row.get(fromColumn + column);
+            }
+
+            @Override
+            public int size() {
+                return toColumn - fromColumn;
+            }
         }
     }
 
+    private int checkedHeight(int fromRow, int fromColumn, int toColumn, int toRow) {
+        if (fromRow < 0)
+            throw new IndexOutOfBoundsException("fromRow: " + fromRow);
+        if (fromColumn < 0)
+            throw new IndexOutOfBoundsException("fromColumn: " + fromColumn);
+        if (toRow > height())
+            throw new IndexOutOfBoundsException("toRow: " + toRow + ", Height: " + height());
+        if (toColumn > width())
+            throw new IndexOutOfBoundsException("toColumn: " + toColumn + ", Width: " + width());
+        if (fromRow > toRow)
+            throw new IllegalArgumentException("fromRow(" + fromRow + ") > toRow(" + toRow + ")");
+        if (fromColumn > toColumn)
+            throw new IllegalArgumentException("fromColumn(" + fromColumn + ") > toColumn(" + toColumn + ")");
+        return fromColumn == toColumn ? 0 : toRow - fromRow;
+    }
+
     private final class ListView extends AbstractList<String> {
         int width = width();
         int height = height();
@@ -886,32 +1107,146 @@ public final class DataTable {
         }
     }
 
-    private final class TransposedRawDataTableView extends AbstractList<List<String>> implements RandomAccess {
+    private final class TransposedRawDataTableView extends RowViews {
+
+        TransposedRawDataTableView() {
+            super(width());
+        }
 
         DataTable dataTable() {
             return DataTable.this;
         }
 
         @Override
-        public List<String> get(final int row) {
-            rangeCheckRow(row, size());
-            return new AbstractList<String>() {
+        List<String> createRow(int row) {
+            return new ColumnView(row);
+        }
+    }
+
+    private static final class WrappedRow<C> extends AbstractList<String> implements RandomAccess {
+        private final List<C> cells;
+        private final Function<? super C, String> value;
+
+        WrappedRow(List<C> cells, Function<? super C, String> value) {
+            this.cells = cells;
+            this.value = value;
+        }
+
+        @Override
+        public String get(int column) {
+            return value.apply(cells.get(column));
+        }
+
+        @Override
+        public int size() {
+            return cells.size();
+        }
+    }
+
+    /**
+     * The header of a table, indexed by key. Shared by all entries of
+     * {@link #asMaps()}.
+     */
+    private static final class HeaderIndex {
+        private final List<String> keys;
+        private final Map<String, Integer> columnByKey;
+        private final int duplicateColumn;
+
+        HeaderIndex(List<String> keys) {
+            this.keys = keys;
+            this.columnByKey = new HashMap<>(keys.size() * 2);
+            int duplicateColumn = -1;
+            for (int column = 0; column < keys.size(); column++) {
+                if (columnByKey.putIfAbsent(keys.get(column), column) != null) {
+                    duplicateColumn = column;
+                    break;
+                }
+            }
+            this.duplicateColumn = duplicateColumn;
+        }
+
+        void requireUniqueKeys(List<String> row) {
+            if (duplicateColumn < 0) {
+                return;
+            }
+            String key = keys.get(duplicateColumn);
+            String value = row.get(duplicateColumn);
+            String wouldBeReplaced = row.get(columnByKey.get(key));
+            throw duplicateKeyException(String.class, String.class, key, value, wouldBeReplaced);
+        }
+
+        int size() {
+            return keys.size();
+        }
+
+        String key(int column) {
+            return keys.get(column);
+        }
+
+        Integer column(Object key) {
+            return columnByKey.get(key);
+        }
+    }
+
+    /**
+     * An immutable map view of a single row, keyed by the header. Iterates
+     * in column order.
+     */
+    private static final class EntryView extends AbstractMap<String, String> {
+        private final HeaderIndex header;
+        private final List<String> row;
+
+        EntryView(HeaderIndex header, List<String> row) {
+            this.header = header;
+            this.row = row;
+        }
+
+        @Override
+        public String get(Object key) {
+            Integer column = header.column(key);
+            return column == null ? null : row.get(column);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return header.column(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return header.size();
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
                 @Override
-                public String get(final int column) {
-                    rangeCheckColumn(column, size());
-                    return raw.get(column).get(row);
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<Entry<String, String>>() {
+                        private int column;
+
+                        @Override
+                        public boolean hasNext() {
+                            return column < header.size();
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<String, String> entry = new SimpleImmutableEntry<>(header.key(column), row.get(column));
+                            column++;
+                            return entry;
+                        }
+                    };
                 }
 
                 @Override
                 public int size() {
-                    return height();
+                    return header.size();
                 }
             };
         }
-
-        @Override
-        public int size() {
-            return width();
-        }
     }
 }
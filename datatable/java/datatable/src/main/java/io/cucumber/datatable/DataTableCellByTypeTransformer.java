@@ -1,14 +1,16 @@
 package io.cucumber.datatable;
 
 import java.lang.reflect.Type;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.cucumber.datatable.TypeFactory.aListOf;
-import static java.util.Collections.singletonList;
 
 final class DataTableCellByTypeTransformer implements TableCellByTypeTransformer {
 
-    private DataTableTypeRegistry dataTableTypeRegistry;
+    private final DataTableTypeRegistry dataTableTypeRegistry;
+    private final Map<Type, DataTableType> cellTypesByType = new ConcurrentHashMap<>();
+    private volatile int registryVersion = -1;
 
     DataTableCellByTypeTransformer(DataTableTypeRegistry dataTableTypeRegistry) {
         this.dataTableTypeRegistry = dataTableTypeRegistry;
@@ -16,10 +18,20 @@ final class DataTableCellByTypeTransformer implements TableCellByTypeTransformer
 
     @Override
     public Object transform(String cellValue, Type toValueType) {
-        DataTableType typeByType = dataTableTypeRegistry.lookupTableTypeByType(aListOf(aListOf(toValueType)));
+        DataTableType typeByType = lookupCellTypeByType(toValueType);
         if (typeByType == null) {
             throw new CucumberDataTableException("There is no DataTableType registered for cell type " + toValueType);
         }
-        return ((List<List<Object>>) typeByType.transform(singletonList(singletonList(cellValue)))).get(0).get(0);
+        return typeByType.transformCell(cellValue);
+    }
+
+    private DataTableType lookupCellTypeByType(Type toValueType) {
+        int version = dataTableTypeRegistry.getVersion();
+        if (version != registryVersion) {
+            cellTypesByType.clear();
+            registryVersion = version;
+        }
+        return cellTypesByType.computeIfAbsent(toValueType,
+                type -> dataTableTypeRegistry.lookupTableTypeByType(aListOf(aListOf(type))));
     }
 }
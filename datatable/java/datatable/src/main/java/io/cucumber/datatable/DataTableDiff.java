@@ -2,6 +2,7 @@ package io.cucumber.datatable;
 
 import org.apiguardian.api.API;
 
+import java.util.AbstractList;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
 import java.util.List;
@@ -11,25 +12,57 @@ public final class DataTableDiff {
 
     private final List<List<String>> table;
     private final List<DiffType> diffTypes;
+    private final boolean empty;
 
     static DataTableDiff create(List<SimpleEntry<List<String>, DiffType>> diffTableRows) {
         List<DiffType> diffTypes = new ArrayList<>(diffTableRows.size());
         List<List<String>> table = new ArrayList<>();
+        boolean empty = true;
 
         for (SimpleEntry<List<String>, DiffType> row : diffTableRows) {
             table.add(row.getKey());
             diffTypes.add(row.getValue());
+            empty &= row.getValue() == DiffType.NONE;
         }
-        return new DataTableDiff(table, diffTypes);
+        return new DataTableDiff(table, diffTypes, empty);
     }
 
-    private DataTableDiff(List<List<String>> table, List<DiffType> diffTypes) {
+    static DataTableDiff create(List<List<String>> from, List<List<String>> to, DiffScript script) {
+        // Views over the script, avoids copying the rows of large tables
+        List<List<String>> table = new AbstractList<List<String>>() {
+            @Override
+            public List<String> get(int index) {
+                List<List<String>> rows = script.type(index) == DiffType.INSERT ? to : from;
+                return rows.get(script.index(index));
+            }
+
+            @Override
+            public int size() {
+                return script.size();
+            }
+        };
+        List<DiffType> diffTypes = new AbstractList<DiffType>() {
+            @Override
+            public DiffType get(int index) {
+                return script.type(index);
+            }
+
+            @Override
+            public int size() {
+                return script.size();
+            }
+        };
+        return new DataTableDiff(table, diffTypes, !script.isChanged());
+    }
+
+    private DataTableDiff(List<List<String>> table, List<DiffType> diffTypes, boolean empty) {
         this.table = table;
         this.diffTypes = diffTypes;
+        this.empty = empty;
     }
 
     public boolean isEmpty() {
-        return !diffTypes.contains(DiffType.DELETE) && !diffTypes.contains(DiffType.INSERT);
+        return empty;
     }
 
     @Override
@@ -10,6 +10,7 @@ import java.util.Map;
 
 import static io.cucumber.datatable.TypeFactory.aListOf;
 import static io.cucumber.datatable.TypeFactory.constructType;
+import static java.util.Collections.singletonList;
 
 /**
  * A data table type describes how a data table should be represented as an
@@ -137,14 +138,37 @@ public final class DataTableType {
     }
 
     public Object transform(List<List<String>> raw) {
+        return transform(raw, RowMapper.SEQUENTIAL);
+    }
+
+    Object transform(List<List<String>> raw, RowMapper rowMapper) {
         try {
-            return transformer.transform(raw);
+            return transformer.transform(raw, rowMapper);
         } catch (Throwable throwable) {
             throw new CucumberDataTableException(
                     String.format("'%s' could not transform%n%s", toCanonical(), DataTable.create(raw)), throwable);
         }
     }
 
+    /**
+     * Transforms a single cell. Data table types created from a
+     * {@link TableCellTransformer} call it directly rather then
+     * transforming a table of one cell.
+     */
+    Object transformCell(String cell) {
+        if (!(transformer instanceof TableCellTransformerAdaptor)) {
+            List<?> row = (List<?>) ((List<?>) transform(singletonList(singletonList(cell)))).get(0);
+            return row.get(0);
+        }
+        TableCellTransformerAdaptor<?> adaptor = (TableCellTransformerAdaptor<?>) transformer;
+        try {
+            return adaptor.transformer.transform(cell);
+        } catch (Throwable throwable) {
+            throw new CucumberDataTableException(
+                    String.format("'%s' could not transform%n%s", toCanonical(), DataTable.create(singletonList(singletonList(cell)))), throwable);
+        }
+    }
+
     JavaType getTargetType() {
         return targetType;
     }
@@ -183,7 +207,7 @@ public final class DataTableType {
     interface RawTableTransformer<T> {
         Class<?> getOriginalTransformerType();
 
-        T transform(List<List<String>> raw) throws Throwable;
+        T transform(List<List<String>> raw, RowMapper rowMapper) throws Throwable;
     }
 
     private static class TableCellTransformerAdaptor<T> implements RawTableTransformer<List<List<T>>> {
@@ -200,16 +224,14 @@ public final class DataTableType {
         }
 
         @Override
-        public List<List<T>> transform(List<List<String>> raw) throws Throwable {
-            List<List<T>> list = new ArrayList<>(raw.size());
-            for (List<String> tableRow : raw) {
+        public List<List<T>> transform(List<List<String>> raw, RowMapper rowMapper) throws Throwable {
+            return rowMapper.map(raw, 0, tableRow -> {
                 List<T> row = new ArrayList<>(tableRow.size());
                 for (String entry : tableRow) {
                     row.add(transformer.transform(entry));
                 }
-                list.add(row);
-            }
-            return list;
+                return row;
+            });
         }
     }
 
@@ -227,13 +249,8 @@ public final class DataTableType {
         }
 
         @Override
-        public List<T> transform(List<List<String>> raw) throws Throwable {
-            List<T> list = new ArrayList<>();
-            for (List<String> tableRow : raw) {
-                list.add(transformer.transform(tableRow));
-            }
-
-            return list;
+        public List<T> transform(List<List<String>> raw, RowMapper rowMapper) throws Throwable {
+            return rowMapper.map(raw, 0, transformer::transform);
         }
     }
 
@@ -251,14 +268,10 @@ public final class DataTableType {
         }
 
         @Override
-        public List<T> transform(List<List<String>> raw) throws Throwable {
+        public List<T> transform(List<List<String>> raw, RowMapper rowMapper) throws Throwable {
             DataTable table = DataTable.create(raw, CONVERSION_REQUIRED);
-            List<T> list = new ArrayList<>();
-            for (Map<String, String> entry : table.asMaps()) {
-                list.add(transformer.transform(entry));
-            }
-
-            return list;
+            // Entries start after the header
+            return rowMapper.map(table.asMaps(), 1, transformer::transform);
         }
     }
 
@@ -276,7 +289,7 @@ public final class DataTableType {
         }
 
         @Override
-        public T transform(List<List<String>> raw) throws Throwable {
+        public T transform(List<List<String>> raw, RowMapper rowMapper) throws Throwable {
             return transformer.transform(DataTable.create(raw, CONVERSION_REQUIRED));
         }
     }
@@ -19,11 +19,13 @@ public final class DataTableTypeRegistry {
 
     private final DataTableCellByTypeTransformer tableCellByTypeTransformer = new DataTableCellByTypeTransformer(this);
     private final Map<JavaType, DataTableType> tableTypeByType = new HashMap<>();
+    private final NumberParser numberParser;
+    private volatile int version;
     private TableEntryByTypeTransformer defaultDataTableEntryTransformer;
     private TableCellByTypeTransformer defaultDataTableCellTransformer;
 
     public DataTableTypeRegistry(Locale locale) {
-        final NumberParser numberParser = new NumberParser(locale);
+        this.numberParser = new NumberParser(locale);
 
         TableCellTransformer<Object> objectTableCellTransformer = applyIfPresent(s -> s);
         defineDataTableType(new DataTableType(Object.class, objectTableCellTransformer, true));
@@ -78,9 +80,22 @@ public final class DataTableTypeRegistry {
             ));
         }
         tableTypeByType.put(dataTableType.getTargetType(), dataTableType);
+        version++;
 
     }
 
+    /**
+     * Incremented each time the registry changes. Allows table converters to
+     * cache what they looked up.
+     */
+    int getVersion() {
+        return version;
+    }
+
+    NumberParser getNumberParser() {
+        return numberParser;
+    }
+
     DataTableType lookupTableTypeByType(final Type tableType) {
         JavaType targetType = constructType(tableType);
         return tableTypeByType.get(targetType);
@@ -121,10 +136,12 @@ public final class DataTableTypeRegistry {
 
     public void setDefaultDataTableEntryTransformer(TableEntryByTypeTransformer defaultDataTableEntryTransformer) {
         this.defaultDataTableEntryTransformer = defaultDataTableEntryTransformer;
+        version++;
     }
 
     public void setDefaultDataTableCellTransformer(TableCellByTypeTransformer defaultDataTableCellTransformer) {
         this.defaultDataTableCellTransformer = defaultDataTableCellTransformer;
+        version++;
     }
 }
 
@@ -13,7 +13,10 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
+import static io.cucumber.datatable.ColumnParser.parseColumns;
 import static io.cucumber.datatable.CucumberDataTableException.cantConvertTo;
 import static io.cucumber.datatable.CucumberDataTableException.duplicateKeyException;
 import static io.cucumber.datatable.CucumberDataTableException.keyValueMismatchException;
@@ -33,6 +36,7 @@ import static io.cucumber.datatable.UndefinedDataTableTypeException.singletonNoC
 import static io.cucumber.datatable.UndefinedDataTableTypeException.problemTableTooShortForDefaultTableEntry;
 import static io.cucumber.datatable.UndefinedDataTableTypeException.problemTableTooWideForDefaultTableCell;
 import static io.cucumber.datatable.UndefinedDataTableTypeException.problemTableTooWideForTableCellTransformer;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.nCopies;
@@ -44,9 +48,36 @@ import static java.util.Objects.requireNonNull;
 public final class DataTableTypeRegistryTableConverter implements TableConverter {
 
     private final DataTableTypeRegistry registry;
+    private final RowMapper rowMapper;
+    private final Map<Type, ConversionPlan> conversionPlans = new ConcurrentHashMap<>();
+    private final Map<Type, TableTypes> tableTypesByItemType = new ConcurrentHashMap<>();
+    private volatile int registryVersion = -1;
 
     public DataTableTypeRegistryTableConverter(DataTableTypeRegistry registry) {
+        this(registry, RowMapper.SEQUENTIAL);
+    }
+
+    /**
+     * Creates a table converter that transforms the rows of large tables in
+     * parallel. Applies to table cell, table row and table entry transformers
+     * which then must be thread safe.
+     * <p>
+     * The order of the results is the same as the order of the rows. When the
+     * transformation of one or more rows fails, the failure of the first row is
+     * reported.
+     *
+     * @param registry          the registry to lookup data table types
+     * @param pool              the pool to transform rows in, e.g. {@link ForkJoinPool#commonPool()}
+     * @param parallelThreshold the minimum number of rows to transform in parallel
+     */
+    @API(status = API.Status.EXPERIMENTAL)
+    public DataTableTypeRegistryTableConverter(DataTableTypeRegistry registry, ForkJoinPool pool, int parallelThreshold) {
+        this(registry, new ForkJoinRowMapper(pool, parallelThreshold));
+    }
+
+    private DataTableTypeRegistryTableConverter(DataTableTypeRegistry registry, RowMapper rowMapper) {
         this.registry = registry;
+        this.rowMapper = rowMapper;
     }
 
     @Override
@@ -63,24 +94,52 @@ public final class DataTableTypeRegistryTableConverter implements TableConverter
         if (transposed) {
             dataTable = dataTable.transpose();
         }
+
+        ConversionPlan plan = lookupConversionPlan(type);
+        switch (plan.strategy) {
+            case TABLE_TYPE:
+                return (T) plan.tableType.transform(dataTable.cells(), rowMapper);
+            case DATA_TABLE:
+                return (T) dataTable;
+            case MAP:
+                return (T) toMap(dataTable, plan.keyType, plan.valueType);
+            case SINGLETON:
+                return toSingleton(dataTable, plan.itemType);
+            case MAPS:
+                return (T) toMaps(dataTable, plan.keyType, plan.valueType);
+            case LISTS:
+                return (T) toLists(dataTable, plan.itemType);
+            case LIST:
+                return (T) toList(dataTable, plan.itemType);
+            default:
+                throw new IllegalStateException("Unknown strategy " + plan.strategy);
+        }
+    }
+
+    private ConversionPlan lookupConversionPlan(Type type) {
+        invalidatePlansIfRegistryChanged();
+        return conversionPlans.computeIfAbsent(type, this::createConversionPlan);
+    }
+
+    private ConversionPlan createConversionPlan(Type type) {
         JavaType javaType = TypeFactory.constructType(type);
 
         DataTableType tableType = registry.lookupTableTypeByType(javaType);
         if (tableType != null) {
-            return (T) tableType.transform(dataTable.cells());
+            return ConversionPlan.tableType(tableType);
         }
 
         if (type.equals(DataTable.class)) {
-            return (T) dataTable;
+            return ConversionPlan.dataTable();
         }
 
         if (javaType instanceof MapType) {
             MapType mapType = (MapType) javaType;
-            return (T) toMap(dataTable, mapType.getKeyType(), mapType.getValueType());
+            return ConversionPlan.keyValue(Strategy.MAP, mapType.getKeyType(), mapType.getValueType());
         }
 
         if (javaType instanceof OtherType) {
-            return toSingleton(dataTable, javaType);
+            return ConversionPlan.item(Strategy.SINGLETON, javaType);
         }
 
         assert javaType instanceof ListType;
@@ -90,16 +149,103 @@ public final class DataTableTypeRegistryTableConverter implements TableConverter
 
         if (listElementType instanceof MapType) {
             MapType mapElement = (MapType) listElementType;
-            return (T) toMaps(dataTable, mapElement.getKeyType(), mapElement.getValueType());
+            return ConversionPlan.keyValue(Strategy.MAPS, mapElement.getKeyType(), mapElement.getValueType());
         }
 
         if (listElementType instanceof ListType) {
             ListType listElement = (ListType) listElementType;
-            return (T) toLists(dataTable, listElement.getElementType());
+            return ConversionPlan.item(Strategy.LISTS, listElement.getElementType());
         }
 
         assert listElementType instanceof OtherType;
-        return (T) toList(dataTable, listElementType);
+        return ConversionPlan.item(Strategy.LIST, listElementType);
+    }
+
+    private TableTypes lookupTableTypes(Type itemType) {
+        invalidatePlansIfRegistryChanged();
+        return tableTypesByItemType.computeIfAbsent(itemType, this::createTableTypes);
+    }
+
+    private TableTypes createTableTypes(Type itemType) {
+        return new TableTypes(
+                constructType(itemType),
+                registry.lookupTableTypeByType(aListOf(itemType)),
+                registry.lookupTableTypeByType(aListOf(aListOf(itemType))),
+                registry.getDefaultTableEntryTransformer(itemType),
+                registry.getDefaultTableCellTransformer(itemType)
+        );
+    }
+
+    private void invalidatePlansIfRegistryChanged() {
+        int version = registry.getVersion();
+        if (version != registryVersion) {
+            conversionPlans.clear();
+            tableTypesByItemType.clear();
+            registryVersion = version;
+        }
+    }
+
+    private enum Strategy {
+        TABLE_TYPE, DATA_TABLE, MAP, SINGLETON, MAPS, LISTS, LIST
+    }
+
+    /**
+     * How to convert a table to a type. Resolved once per type.
+     */
+    private static final class ConversionPlan {
+        private final Strategy strategy;
+        private final DataTableType tableType;
+        private final Type itemType;
+        private final Type keyType;
+        private final Type valueType;
+
+        private ConversionPlan(Strategy strategy, DataTableType tableType, Type itemType, Type keyType, Type valueType) {
+            this.strategy = strategy;
+            this.tableType = tableType;
+            this.itemType = itemType;
+            this.keyType = keyType;
+            this.valueType = valueType;
+        }
+
+        static ConversionPlan tableType(DataTableType tableType) {
+            return new ConversionPlan(Strategy.TABLE_TYPE, tableType, null, null, null);
+        }
+
+        static ConversionPlan dataTable() {
+            return new ConversionPlan(Strategy.DATA_TABLE, null, null, null, null);
+        }
+
+        static ConversionPlan item(Strategy strategy, Type itemType) {
+            return new ConversionPlan(strategy, null, itemType, null, null);
+        }
+
+        static ConversionPlan keyValue(Strategy strategy, Type keyType, Type valueType) {
+            return new ConversionPlan(strategy, null, null, keyType, valueType);
+        }
+    }
+
+    /**
+     * The data table types that can convert a table to a list of items or a
+     * list of lists of items. Resolved once per item type.
+     */
+    private static final class TableTypes {
+        private final JavaType javaType;
+        private final DataTableType entryOrRow;
+        private final DataTableType cell;
+        private final DataTableType defaultEntry;
+        private final DataTableType defaultCell;
+
+        TableTypes(JavaType javaType, DataTableType entryOrRow, DataTableType cell, DataTableType defaultEntry, DataTableType defaultCell) {
+            this.javaType = javaType;
+            this.entryOrRow = entryOrRow;
+            this.cell = cell;
+            this.defaultEntry = defaultEntry;
+            this.defaultCell = defaultCell;
+        }
+
+        DataTableType cellOrDefaultCell() {
+            return cell != null ? cell : defaultCell;
+        }
     }
 
     private <T> T toSingleton(DataTable dataTable, Type type) {
@@ -141,23 +287,32 @@ public final class DataTableTypeRegistryTableConverter implements TableConverter
 
     @SuppressWarnings("unchecked")
     private <T> ListOrProblems<T> toListOrProblems(DataTable dataTable, Type itemType) {
-        List<String> problems = new ArrayList<>();
         List<List<String>> cells = dataTable.cells();
         boolean singleColumn = dataTable.width() == 1;
         boolean mayHaveHeader = dataTable.height() > 1;
+        TableTypes tableTypes = lookupTableTypes(itemType);
 
-        DataTableType entryOrRowValueType = registry.lookupTableTypeByType(aListOf(itemType));
-        if (entryOrRowValueType != null) {
-            return ListOrProblems.list((List<T>) entryOrRowValueType.transform(cells));
-        } else {
-            problems.add(problemNoTableEntryOrTableRowTransformer(itemType));
+        if (tableTypes.entryOrRow != null) {
+            return ListOrProblems.list((List<T>) tableTypes.entryOrRow.transform(cells, rowMapper));
+        }
+        if (tableTypes.cell != null && singleColumn) {
+            return ListOrProblems.list(unpack((List<List<T>>) tableTypes.cell.transform(cells, rowMapper)));
+        }
+        if (tableTypes.defaultEntry != null && mayHaveHeader) {
+            return ListOrProblems.list((List<T>) tableTypes.defaultEntry.transform(cells, rowMapper));
+        }
+        if (tableTypes.defaultCell != null && singleColumn) {
+            return ListOrProblems.list(unpack((List<List<T>>) tableTypes.defaultCell.transform(cells, rowMapper)));
         }
 
-        DataTableType cellValueType = registry.lookupTableTypeByType(aListOf(aListOf(itemType)));
-        if (cellValueType != null) {
-            if (singleColumn) {
-                return ListOrProblems.list(unpack((List<List<T>>) cellValueType.transform(cells)));
-            }
+        return ListOrProblems.problems(listProblems(itemType, tableTypes, singleColumn, mayHaveHeader));
+    }
+
+    private static List<String> listProblems(Type itemType, TableTypes tableTypes, boolean singleColumn, boolean mayHaveHeader) {
+        List<String> problems = new ArrayList<>();
+        problems.add(problemNoTableEntryOrTableRowTransformer(itemType));
+
+        if (tableTypes.cell != null) {
             // This is not common but when it happens it is usually the cause.
             // Make sure its on the top.
             problems.add(0, problemTableTooWideForTableCellTransformer(itemType));
@@ -165,32 +320,22 @@ public final class DataTableTypeRegistryTableConverter implements TableConverter
             problems.add(problemNoTableCellTransformer(itemType));
         }
 
-        DataTableType defaultTableEntryType = registry.getDefaultTableEntryTransformer(itemType);
-        if (defaultTableEntryType != null) {
-            if (mayHaveHeader) {
-                return ListOrProblems.list((List<T>) defaultTableEntryType.transform(cells));
-            }
+        if (tableTypes.defaultEntry != null) {
             problems.add(problemTableTooShortForDefaultTableEntry(itemType));
         } else if (mayHaveHeader) {
             problems.add(problemNoDefaultTableEntryTransformer(itemType));
         }
 
-        DataTableType defaultCellValueType = registry.getDefaultTableCellTransformer(itemType);
-        if (defaultCellValueType != null) {
-            if (singleColumn) {
-                return ListOrProblems.list(unpack((List<List<T>>) defaultCellValueType.transform(cells)));
-            }
+        if (tableTypes.defaultCell != null) {
             // This is not common but when it happens it is usually the cause.
             // Make sure its on the top.
             problems.add(0, problemTableTooWideForDefaultTableCell(itemType));
         } else if (singleColumn) {
             problems.add(problemNoDefaultTableCellTransformer(itemType));
         }
-
-        return ListOrProblems.problems(problems);
+        return problems;
     }
 
-
     private static final class ListOrProblems<T> {
         private final List<T> list;
         private final List<String> problems;
@@ -231,22 +376,15 @@ public final class DataTableTypeRegistryTableConverter implements TableConverter
             return emptyList();
         }
 
-        List<String> problems = new ArrayList<>();
-
-        DataTableType tableType = registry.lookupTableTypeByType(aListOf(aListOf(itemType)));
+        DataTableType tableType = lookupTableTypes(itemType).cellOrDefaultCell();
         if (tableType != null) {
-            return unmodifiableList((List<List<T>>) tableType.transform(dataTable.cells()));
-        } else {
-            problems.add(problemNoTableCellTransformer(itemType));
+            return unmodifiableList((List<List<T>>) tableType.transform(dataTable.cells(), rowMapper));
         }
 
-        tableType = registry.getDefaultTableCellTransformer(itemType);
-        if (tableType != null) {
-            return unmodifiableList((List<List<T>>) tableType.transform(dataTable.cells()));
-        } else {
-            problems.add(problemNoDefaultTableCellTransformer(itemType));
-        }
-        throw listsNoConverterDefined(itemType, problems);
+        throw listsNoConverterDefined(itemType, asList(
+                problemNoTableCellTransformer(itemType),
+                problemNoDefaultTableCellTransformer(itemType)
+        ));
     }
 
     @Override
@@ -312,23 +450,15 @@ public final class DataTableTypeRegistryTableConverter implements TableConverter
 
     @SuppressWarnings("unchecked")
     private <K> List<K> convertEntryKeyColumnRows(Type keyType, Type valueType, DataTable keyColumnRows) {
-        List<String> problems = new ArrayList<>(2);
-
-        DataTableType keyConverter = registry.lookupTableTypeByType(aListOf(aListOf(keyType)));
+        DataTableType keyConverter = lookupTableTypes(keyType).cellOrDefaultCell();
         if (keyConverter != null) {
-            return unpack((List<List<K>>) keyConverter.transform(keyColumnRows.cells()));
-        } else {
-            problems.add(problemNoTableCellTransformer(keyType));
+            return unpack((List<List<K>>) keyConverter.transform(keyColumnRows.cells(), rowMapper));
         }
 
-        keyConverter = registry.getDefaultTableCellTransformer(keyType);
-        if (keyConverter != null) {
-            return unpack((List<List<K>>) keyConverter.transform(keyColumnRows.cells()));
-        } else {
-            problems.add(problemNoDefaultTableCellTransformer(keyType));
-        }
-
-        throw mapNoConverterDefined(keyType, valueType, problems);
+        throw mapNoConverterDefined(keyType, valueType, asList(
+                problemNoTableCellTransformer(keyType),
+                problemNoDefaultTableCellTransformer(keyType)
+        ));
     }
 
     @SuppressWarnings("unchecked")
@@ -357,24 +487,21 @@ public final class DataTableTypeRegistryTableConverter implements TableConverter
         // 3. otherwise                 => toList  => no further recursion
         //
         // So instead we unroll these steps here. This keeps the error handling and messages sane.
-        List<String> problems = new ArrayList<>();
-
-        JavaType javaType = constructType(valueType);
+        TableTypes valueTableTypes = lookupTableTypes(valueType);
+        JavaType javaType = valueTableTypes.javaType;
 
         // Handle case #1.
         if (javaType instanceof ListType) {
             ListType listType = (ListType) javaType;
             // Table cell types take priority over default converters
-            DataTableType cellValueConverter = registry.lookupTableTypeByType(aListOf(aListOf(listType.getElementType())));
-            if (cellValueConverter == null) {
-                problems.add(problemNoTableCellTransformer(listType.getElementType()));
-                cellValueConverter = registry.getDefaultTableCellTransformer(listType.getElementType());
-            }
+            DataTableType cellValueConverter = lookupTableTypes(listType.getElementType()).cellOrDefaultCell();
             if (cellValueConverter == null) {
-                problems.add(problemNoDefaultTableCellTransformer(listType.getElementType()));
-                throw mapNoConverterDefined(keyType, valueType, problems);
+                throw mapNoConverterDefined(keyType, valueType, asList(
+                        problemNoTableCellTransformer(listType.getElementType()),
+                        problemNoDefaultTableCellTransformer(listType.getElementType())
+                ));
             }
-            return (List<V>) cellValueConverter.transform(dataTable.cells());
+            return (List<V>) cellValueConverter.transform(dataTable.cells(), rowMapper);
         }
 
         // Handle case #2
@@ -386,37 +513,31 @@ public final class DataTableTypeRegistryTableConverter implements TableConverter
         // Try to handle case #3.
         // We check this regardless of the keys. They may not imply that this is a table entry.
         // But this type was registered as such.
-        DataTableType entryValueConverter = registry.lookupTableTypeByType(aListOf(valueType));
+        DataTableType entryValueConverter = valueTableTypes.entryOrRow;
         if (entryValueConverter != null) {
-            return (List<V>) entryValueConverter.transform(dataTable.cells());
-        } else {
-            problems.add(problemNoTableEntryTransformer(valueType));
+            return (List<V>) entryValueConverter.transform(dataTable.cells(), rowMapper);
         }
 
         if (keysImplyTableEntryTransformer) {
             // There is no way around it though. This is probably a table entry.
-            DataTableType defaultEntryValueConverter = registry.getDefaultTableEntryTransformer(valueType);
+            DataTableType defaultEntryValueConverter = valueTableTypes.defaultEntry;
             if (defaultEntryValueConverter != null) {
-                return (List<V>) defaultEntryValueConverter.transform(dataTable.cells());
+                return (List<V>) defaultEntryValueConverter.transform(dataTable.cells(), rowMapper);
             }
             throw keysImplyTableEntryTransformer(keyType, valueType);
         }
 
         // This may result in multiple values per key if the table is too wide.
-        DataTableType cellValueConverter = registry.lookupTableTypeByType(aListOf(aListOf(valueType)));
+        DataTableType cellValueConverter = valueTableTypes.cellOrDefaultCell();
         if (cellValueConverter != null) {
-            return unpack((List<List<V>>) cellValueConverter.transform(dataTable.cells()));
-        } else {
-            problems.add(problemNoTableCellTransformer(valueType));
-        }
-        DataTableType defaultCellValueConverter = registry.getDefaultTableCellTransformer(valueType);
-        if (defaultCellValueConverter != null) {
-            return unpack((List<List<V>>) defaultCellValueConverter.transform(dataTable.cells()));
-        } else {
-            problems.add(problemNoDefaultTableCellTransformer(valueType));
+            return unpack((List<List<V>>) cellValueConverter.transform(dataTable.cells(), rowMapper));
         }
 
-        throw mapNoConverterDefined(keyType, valueType, problems);
+        throw mapNoConverterDefined(keyType, valueType, asList(
+                problemNoTableEntryTransformer(valueType),
+                problemNoTableCellTransformer(valueType),
+                problemNoDefaultTableCellTransformer(valueType)
+        ));
     }
 
     @Override
@@ -430,8 +551,8 @@ public final class DataTableTypeRegistryTableConverter implements TableConverter
             return emptyList();
         }
 
-        DataTableType keyConverter = registry.lookupTableTypeByType(aListOf(aListOf(keyType)));
-        DataTableType valueConverter = registry.lookupTableTypeByType(aListOf(aListOf(valueType)));
+        DataTableType keyConverter = lookupTableTypes(keyType).cell;
+        DataTableType valueConverter = lookupTableTypes(valueType).cell;
 
         List<String> problems = new ArrayList<>();
         if (keyConverter == null) {
@@ -448,7 +569,7 @@ public final class DataTableTypeRegistryTableConverter implements TableConverter
         DataTable header = dataTable.rows(0, 1);
 
         List<Map<K, V>> result = new ArrayList<>();
-        List<K> keys = unpack((List<List<K>>) keyConverter.transform(header.cells()));
+        List<K> keys = unpack((List<List<K>>) keyConverter.transform(header.cells(), rowMapper));
 
         DataTable rows = dataTable.rows(1);
 
@@ -456,7 +577,7 @@ public final class DataTableTypeRegistryTableConverter implements TableConverter
             return emptyList();
         }
 
-        List<List<V>> transform = (List<List<V>>) valueConverter.transform(rows.cells());
+        List<List<V>> transform = (List<List<V>>) valueConverter.transform(rows.cells(), rowMapper);
 
         for (List<V> values : transform) {
             result.add(createMap(keyType, keys, valueType, values));
@@ -464,6 +585,34 @@ public final class DataTableTypeRegistryTableConverter implements TableConverter
         return unmodifiableList(result);
     }
 
+    @Override
+    public double[][] toDoubleColumns(DataTable dataTable) {
+        requireNonNull(dataTable, "dataTable may not be null");
+
+        NumberParser numberParser = registry.getNumberParser();
+        double[][] columns = new double[dataTable.width()][dataTable.height()];
+        parseColumns(dataTable.cells(), double[][].class, (cell, row, column) -> columns[column][row] = numberParser.parseDouble(cell));
+        return columns;
+    }
+
+    @Override
+    public int[][] toIntColumns(DataTable dataTable) {
+        requireNonNull(dataTable, "dataTable may not be null");
+
+        int[][] columns = new int[dataTable.width()][dataTable.height()];
+        parseColumns(dataTable.cells(), int[][].class, (cell, row, column) -> columns[column][row] = NumberParser.parseInt(cell));
+        return columns;
+    }
+
+    @Override
+    public long[][] toLongColumns(DataTable dataTable) {
+        requireNonNull(dataTable, "dataTable may not be null");
+
+        long[][] columns = new long[dataTable.width()][dataTable.height()];
+        parseColumns(dataTable.cells(), long[][].class, (cell, row, column) -> columns[column][row] = NumberParser.parseLong(cell));
+        return columns;
+    }
+
     private static <T> List<T> unpack(List<List<T>> cells) {
         List<T> unpacked = new ArrayList<>(cells.size());
         for (List<T> row : cells) {
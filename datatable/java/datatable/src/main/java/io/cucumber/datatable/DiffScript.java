@@ -0,0 +1,53 @@
+package io.cucumber.datatable;
+
+import java.util.Arrays;
+
+/**
+ * A compact list of diff rows. Each row is stored as a single int holding
+ * the index of the row in either the "from" or the "to" table and its
+ * {@link DiffType}. {@link DiffType#INSERT} rows refer to the "to" table, all
+ * others to the "from" table.
+ */
+final class DiffScript {
+    private static final int TYPE_BITS = 2;
+    private static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+    private static final DiffType[] TYPES = DiffType.values();
+
+    private int[] rows;
+    private int size;
+    private boolean changed;
+
+    DiffScript(int initialCapacity) {
+        this.rows = new int[Math.max(initialCapacity, 8)];
+    }
+
+    void add(int index, DiffType type) {
+        if (size == rows.length) {
+            rows = Arrays.copyOf(rows, rows.length + (rows.length >> 1));
+        }
+        rows[size++] = index << TYPE_BITS | type.ordinal();
+        changed |= type != DiffType.NONE;
+    }
+
+    void addRange(int fromIndex, int toIndex, DiffType type) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            add(i, type);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int index(int row) {
+        return rows[row] >>> TYPE_BITS;
+    }
+
+    DiffType type(int row) {
+        return TYPES[rows[row] & TYPE_MASK];
+    }
+
+    boolean isChanged() {
+        return changed;
+    }
+}
@@ -5,10 +5,12 @@ import java.util.List;
 final class DiffableRow {
     final List<String> row;
     private final List<String> convertedRow;
+    private final int hashCode;
 
     DiffableRow(List<String> row, List<String> convertedRow) {
         this.row = row;
         this.convertedRow = convertedRow;
+        this.hashCode = convertedRow.hashCode();
     }
 
     @Override
@@ -16,12 +18,12 @@ final class DiffableRow {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         DiffableRow that = (DiffableRow) o;
-        return convertedRow.equals(that.convertedRow);
+        return hashCode == that.hashCode && convertedRow.equals(that.convertedRow);
 
     }
 
     @Override
     public int hashCode() {
-        return convertedRow.hashCode();
+        return hashCode;
     }
 }
@@ -0,0 +1,111 @@
+package io.cucumber.datatable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static io.cucumber.datatable.CucumberDataTableException.couldNotTransformRow;
+import static java.util.Collections.nCopies;
+
+/**
+ * Maps the rows of tables with at least {@code threshold} rows in parallel.
+ * Smaller tables are mapped on the calling thread.
+ * <p>
+ * When the function fails for one or more rows, the failure of the row with
+ * the lowest index is reported, as it would be by {@link RowMapper#SEQUENTIAL}.
+ */
+final class ForkJoinRowMapper implements RowMapper {
+    // Split into a few more batches than threads to balance uneven rows
+    private static final int BATCHES_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    ForkJoinRowMapper(ForkJoinPool pool, int threshold) {
+        if (pool == null) throw new NullPointerException("pool cannot be null");
+        if (threshold < 1) throw new IllegalArgumentException("threshold must be positive but was " + threshold);
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public <S, T> List<T> map(List<S> rows, int firstRow, RowFunction<S, T> function) {
+        if (rows.size() < threshold) {
+            return SEQUENTIAL.map(rows, firstRow, function);
+        }
+
+        // Each task only sets its own indices, so no structural modification
+        // happens concurrently. Invoking the pool publishes the results.
+        List<T> results = new ArrayList<>(nCopies(rows.size(), null));
+        Failure failure = new Failure();
+        int batchSize = Math.max(1, rows.size() / (pool.getParallelism() * BATCHES_PER_THREAD));
+        pool.invoke(new MapRows<>(rows, function, results, failure, 0, rows.size(), batchSize));
+
+        if (failure.throwable != null) {
+            throw couldNotTransformRow(firstRow + failure.index, failure.throwable);
+        }
+        return results;
+    }
+
+    private static final class Failure {
+        private volatile int index = Integer.MAX_VALUE;
+        private Throwable throwable;
+
+        synchronized void record(int index, Throwable throwable) {
+            if (index < this.index) {
+                this.index = index;
+                this.throwable = throwable;
+            }
+        }
+
+        boolean isBefore(int index) {
+            return this.index < index;
+        }
+    }
+
+    private static final class MapRows<S, T> extends RecursiveAction {
+        private final List<S> rows;
+        private final RowFunction<S, T> function;
+        private final List<T> results;
+        private final Failure failure;
+        private final int from;
+        private final int to;
+        private final int batchSize;
+
+        MapRows(List<S> rows, RowFunction<S, T> function, List<T> results, Failure failure, int from, int to, int batchSize) {
+            this.rows = rows;
+            this.function = function;
+            this.results = results;
+            this.failure = failure;
+            this.from = from;
+            this.to = to;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > batchSize) {
+                int middle = (from + to) >>> 1;
+                invokeAll(
+                        new MapRows<>(rows, function, results, failure, from, middle, batchSize),
+                        new MapRows<>(rows, function, results, failure, middle, to, batchSize)
+                );
+                return;
+            }
+
+            for (int i = from; i < to; i++) {
+                // An earlier row already failed, this batch can't be reported
+                if (failure.isBefore(i)) {
+                    return;
+                }
+                try {
+                    results.set(i, function.apply(rows.get(i)));
+                } catch (Throwable throwable) {
+                    failure.record(i, throwable);
+                    return;
+                }
+            }
+        }
+    }
+}
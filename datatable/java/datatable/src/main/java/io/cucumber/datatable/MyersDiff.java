@@ -0,0 +1,156 @@
+package io.cucumber.datatable;
+
+import java.util.Arrays;
+
+/**
+ * Finds the longest common subsequence of two sequences of ints using the
+ * linear space variant of Myers' O(ND) difference algorithm.
+ * <p>
+ * See "An O(ND) Difference Algorithm and Its Variations", Eugene W. Myers,
+ * Algorithmica 1 (1986).
+ */
+final class MyersDiff {
+
+    interface MatchConsumer {
+        /**
+         * Called for each pair of matched elements in increasing order.
+         */
+        void match(int aIndex, int bIndex);
+    }
+
+    private final int[] a;
+    private final int[] b;
+    private final MatchConsumer consumer;
+
+    private MyersDiff(int[] a, int[] b, MatchConsumer consumer) {
+        this.a = a;
+        this.b = b;
+        this.consumer = consumer;
+    }
+
+    static void diff(int[] a, int[] b, MatchConsumer consumer) {
+        new MyersDiff(a, b, consumer).diff(0, a.length, 0, b.length);
+    }
+
+    private void diff(int aStart, int aEnd, int bStart, int bEnd) {
+        while (aStart < aEnd && bStart < bEnd && a[aStart] == b[bStart]) {
+            consumer.match(aStart++, bStart++);
+        }
+        int suffix = 0;
+        while (aStart < aEnd && bStart < bEnd && a[aEnd - 1] == b[bEnd - 1]) {
+            aEnd--;
+            bEnd--;
+            suffix++;
+        }
+
+        if (aStart < aEnd && bStart < bEnd) {
+            long split = bisect(aStart, aEnd, bStart, bEnd);
+            if (split >= 0) {
+                int x = (int) (split >>> 32);
+                int y = (int) split;
+                diff(aStart, x, bStart, y);
+                diff(x, aEnd, y, bEnd);
+            }
+        }
+
+        for (int i = 0; i < suffix; i++) {
+            consumer.match(aEnd + i, bEnd + i);
+        }
+    }
+
+    /**
+     * Finds the middle snake of the shortest edit script by searching
+     * forwards and backwards at the same time.
+     *
+     * @return the point where the searches overlap as {@code x << 32 | y},
+     * or -1 when the sequences have nothing in common
+     */
+    private long bisect(int aStart, int aEnd, int bStart, int bEnd) {
+        int n = aEnd - aStart;
+        int m = bEnd - bStart;
+        int maxD = (n + m + 1) / 2;
+        int offset = maxD;
+        int length = 2 * maxD + 2;
+        int[] forward = new int[length];
+        int[] backward = new int[length];
+        Arrays.fill(forward, -1);
+        Arrays.fill(backward, -1);
+        forward[offset + 1] = 0;
+        backward[offset + 1] = 0;
+        int delta = n - m;
+        // If the total number of elements is odd, the forward search
+        // will collide with the backward search.
+        boolean front = (delta & 1) != 0;
+
+        // Diagonals that went past the end of a sequence need no more work
+        int forwardStart = 0;
+        int forwardEnd = 0;
+        int backwardStart = 0;
+        int backwardEnd = 0;
+
+        for (int d = 0; d < maxD; d++) {
+            for (int k = -d + forwardStart; k <= d - forwardEnd; k += 2) {
+                int kOffset = offset + k;
+                int x;
+                if (k == -d || (k != d && forward[kOffset - 1] < forward[kOffset + 1])) {
+                    x = forward[kOffset + 1];
+                } else {
+                    x = forward[kOffset - 1] + 1;
+                }
+                int y = x - k;
+                while (x < n && y < m && a[aStart + x] == b[bStart + y]) {
+                    x++;
+                    y++;
+                }
+                forward[kOffset] = x;
+                if (x > n) {
+                    forwardEnd += 2;
+                } else if (y > m) {
+                    forwardStart += 2;
+                } else if (front) {
+                    int backwardOffset = offset + delta - k;
+                    if (backwardOffset >= 0 && backwardOffset < length && backward[backwardOffset] != -1) {
+                        if (x >= n - backward[backwardOffset]) {
+                            return split(aStart + x, bStart + y);
+                        }
+                    }
+                }
+            }
+
+            for (int k = -d + backwardStart; k <= d - backwardEnd; k += 2) {
+                int kOffset = offset + k;
+                int x;
+                if (k == -d || (k != d && backward[kOffset - 1] < backward[kOffset + 1])) {
+                    x = backward[kOffset + 1];
+                } else {
+                    x = backward[kOffset - 1] + 1;
+                }
+                int y = x - k;
+                while (x < n && y < m && a[aEnd - x - 1] == b[bEnd - y - 1]) {
+                    x++;
+                    y++;
+                }
+                backward[kOffset] = x;
+                if (x > n) {
+                    backwardEnd += 2;
+                } else if (y > m) {
+                    backwardStart += 2;
+                } else if (!front) {
+                    int forwardOffset = offset + delta - k;
+                    if (forwardOffset >= 0 && forwardOffset < length && forward[forwardOffset] != -1) {
+                        int forwardX = forward[forwardOffset];
+                        int forwardY = offset + forwardX - forwardOffset;
+                        if (forwardX >= n - x) {
+                            return split(aStart + forwardX, bStart + forwardY);
+                        }
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static long split(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,43 @@
+package io.cucumber.datatable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.cucumber.datatable.CucumberDataTableException.couldNotTransformRow;
+
+/**
+ * Applies a function to each row of a table and collects the results in
+ * row order.
+ */
+interface RowMapper {
+
+    RowMapper SEQUENTIAL = new RowMapper() {
+        @Override
+        public <S, T> List<T> map(List<S> rows, int firstRow, RowFunction<S, T> function) {
+            List<T> list = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                try {
+                    list.add(function.apply(rows.get(i)));
+                } catch (Throwable throwable) {
+                    throw couldNotTransformRow(firstRow + i, throwable);
+                }
+            }
+            return list;
+        }
+    };
+
+    /**
+     * @param rows     the rows to map
+     * @param firstRow the index of the first row in the table
+     * @param function the function to apply to each row
+     * @return the results, in the same order as the rows
+     * @throws CucumberDataTableException when the function throws, for
+     *                                    the first row that failed
+     */
+    <S, T> List<T> map(List<S> rows, int firstRow, RowFunction<S, T> function);
+
+    @FunctionalInterface
+    interface RowFunction<S, T> {
+        T apply(S row) throws Throwable;
+    }
+}
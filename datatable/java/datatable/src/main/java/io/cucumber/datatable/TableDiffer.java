@@ -1,12 +1,10 @@
 package io.cucumber.datatable;
 
-import difflib.Delta;
-import difflib.DiffUtils;
-import difflib.Patch;
 import org.apiguardian.api.API;
 
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,101 +28,165 @@ public class TableDiffer {
     }
 
     public DataTableDiff calculateDiffs() {
-        Map<Integer, Delta> deltasByLine = createDeltasByLine();
-        return createTableDiff(deltasByLine);
+        List<List<String>> fromRows = from.cells();
+        List<List<String>> toRows = to.cells();
+        DiffScript script = new DiffScript(Math.max(fromRows.size(), toRows.size()));
+
+        int fromEnd = fromRows.size();
+        int toEnd = toRows.size();
+        int prefix = 0;
+        while (prefix < fromEnd && prefix < toEnd && fromRows.get(prefix).equals(toRows.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (prefix < fromEnd - suffix && prefix < toEnd - suffix
+                && fromRows.get(fromEnd - suffix - 1).equals(toRows.get(toEnd - suffix - 1))) {
+            suffix++;
+        }
+
+        script.addRange(0, prefix, DiffType.NONE);
+        diffChangedRows(fromRows, toRows, prefix, fromEnd - suffix, toEnd - suffix, script);
+        script.addRange(fromEnd - suffix, fromEnd, DiffType.NONE);
+        return DataTableDiff.create(fromRows, toRows, script);
+    }
+
+    /**
+     * Diffs the rows between the common prefix and suffix. Each distinct row
+     * is replaced by an int id so rows are hashed and compared only once.
+     * Rows that only occur in one of the tables can never be matched and are
+     * left out of the diff entirely.
+     */
+    private static void diffChangedRows(List<List<String>> fromRows, List<List<String>> toRows, int start, int fromEnd, int toEnd, DiffScript script) {
+        Map<List<String>, Integer> ids = new HashMap<>();
+        int[] fromIds = new int[fromEnd - start];
+        for (int i = 0; i < fromIds.length; i++) {
+            Integer id = ids.get(fromRows.get(start + i));
+            if (id == null) {
+                id = ids.size();
+                ids.put(fromRows.get(start + i), id);
+            }
+            fromIds[i] = id;
+        }
+
+        boolean[] inTo = new boolean[ids.size()];
+        int[] toIndexes = new int[toEnd - start];
+        int[] toIds = new int[toEnd - start];
+        int toCandidates = 0;
+        for (int j = start; j < toEnd; j++) {
+            Integer id = ids.get(toRows.get(j));
+            if (id != null) {
+                inTo[id] = true;
+                toIndexes[toCandidates] = j;
+                toIds[toCandidates++] = id;
+            }
+        }
+
+        int[] fromIndexes = new int[fromIds.length];
+        int fromCandidates = 0;
+        for (int i = 0; i < fromIds.length; i++) {
+            if (inTo[fromIds[i]]) {
+                fromIndexes[fromCandidates] = start + i;
+                fromIds[fromCandidates++] = fromIds[i];
+            }
+        }
+
+        // Between two matched rows, rows removed from "from" are listed
+        // before the rows added to "to"
+        int[] next = {start, start};
+        MyersDiff.diff(
+                Arrays.copyOf(fromIds, fromCandidates),
+                Arrays.copyOf(toIds, toCandidates),
+                (a, b) -> {
+                    int i = fromIndexes[a];
+                    int j = toIndexes[b];
+                    script.addRange(next[0], i, DiffType.DELETE);
+                    script.addRange(next[1], j, DiffType.INSERT);
+                    script.add(i, DiffType.NONE);
+                    next[0] = i + 1;
+                    next[1] = j + 1;
+                });
+        script.addRange(next[0], fromEnd, DiffType.DELETE);
+        script.addRange(next[1], toEnd, DiffType.INSERT);
     }
 
 
     public DataTableDiff calculateUnorderedDiffs() {
         List<SimpleEntry<List<String>, DiffType>> diffTableRows = new ArrayList<>();
 
-        // 1. add all "to" row in extra table
-        // 2. iterate over "from", when a common row occurs, remove it from extraRows
+        // 1. count all "to" rows
+        // 2. iterate over "from", when a common row occurs, mark one of its occurrences as matched
+        // 3. iterate over "to", skipping the first matched occurrences of each row
         // finally, only extra rows are kept and in same order that in "to".
-        ArrayList<List<String>> extraRows = new ArrayList<>(to.cells());
+        List<DiffableRow> toRows = getDiffableRows(to);
+        Map<DiffableRow, RowCount> rowCounts = countRows(toRows);
 
         for (List<String> row : from.cells()) {
-            if (!extraRows.remove(row)) {
+            RowCount count = rowCounts.get(new DiffableRow(row, row));
+            if (count == null || count.unmatched == 0) {
                 diffTableRows.add(
                         new SimpleEntry<>(row, DiffType.DELETE));
             } else {
+                count.unmatched--;
                 diffTableRows.add(
                         new SimpleEntry<>(row, DiffType.NONE));
             }
         }
 
-        for (List<String> cells : extraRows) {
-            diffTableRows.add(
-                    new SimpleEntry<>(cells, DiffType.INSERT));
+        for (DiffableRow row : toRows) {
+            RowCount count = rowCounts.get(row);
+            if (count.total > count.unmatched) {
+                // One of the first occurrences, matched by a "from" row
+                count.total--;
+            } else {
+                diffTableRows.add(
+                        new SimpleEntry<>(row.row, DiffType.INSERT));
+            }
         }
 
         return DataTableDiff.create(diffTableRows);
     }
 
-    private static List<DiffableRow> getDiffableRows(DataTable raw) {
-        List<DiffableRow> result = new ArrayList<>();
-        for (List<String> row : raw.cells()) {
-            result.add(new DiffableRow(row, row));
+    /**
+     * Returns true when both tables contain the same rows, ignoring their
+     * order. Unlike {@link #calculateUnorderedDiffs()} no diff is created.
+     *
+     * @return true when both tables contain the same rows
+     */
+    public boolean hasSameRowsInAnyOrder() {
+        if (from.height() != to.height()) {
+            return false;
         }
-        return result;
-    }
-
-
-    @SuppressWarnings("unchecked")
-    private Map<Integer, Delta> createDeltasByLine() {
-        Patch patch = DiffUtils.diff(getDiffableRows(from), getDiffableRows(to));
-        List<Delta> deltas = patch.getDeltas();
-
-        Map<Integer, Delta> deltasByLine = new HashMap<>();
-        for (Delta delta : deltas) {
-            deltasByLine.put(delta.getOriginal().getPosition(), delta);
-        }
-        return deltasByLine;
-    }
-
-    private DataTableDiff createTableDiff(Map<Integer, Delta> deltasByLine) {
-        List<SimpleEntry<List<String>, DiffType>> diffTableRows = new ArrayList<>();
-        List<List<String>> rows = from.cells();
-        for (int i = 0; i < rows.size(); i++) {
-            Delta delta = deltasByLine.get(i);
-            if (delta == null) {
-                diffTableRows.add(new SimpleEntry<>(from.row(i), DiffType.NONE));
-            } else {
-                addRowsToTableDiff(diffTableRows, delta);
-                // skipping lines involved in a delta
-                if (delta.getType() == Delta.TYPE.CHANGE || delta.getType() == Delta.TYPE.DELETE) {
-                    i += delta.getOriginal().getLines().size() - 1;
-                } else {
-                    diffTableRows.add(new SimpleEntry<>(from.row(i), DiffType.NONE));
-                }
+        Map<DiffableRow, RowCount> rowCounts = countRows(getDiffableRows(to));
+        for (List<String> row : from.cells()) {
+            RowCount count = rowCounts.get(new DiffableRow(row, row));
+            if (count == null || count.unmatched == 0) {
+                return false;
             }
+            count.unmatched--;
         }
-        // Can have new lines at end
-        Delta remainingDelta = deltasByLine.get(rows.size());
-        if (remainingDelta != null) {
-            addRowsToTableDiff(diffTableRows, remainingDelta);
-        }
-        return DataTableDiff.create(diffTableRows);
+        return true;
     }
 
-    private void addRowsToTableDiff(List<SimpleEntry<List<String>, DiffType>> diffTableRows, Delta delta) {
-        markChangedAndDeletedRowsInOriginalAsMissing(diffTableRows, delta);
-        markChangedAndInsertedRowsInRevisedAsNew(diffTableRows, delta);
+    private static Map<DiffableRow, RowCount> countRows(List<DiffableRow> rows) {
+        Map<DiffableRow, RowCount> rowCounts = new HashMap<>(rows.size() * 2);
+        for (DiffableRow row : rows) {
+            RowCount count = rowCounts.computeIfAbsent(row, r -> new RowCount());
+            count.total++;
+            count.unmatched++;
+        }
+        return rowCounts;
     }
 
-    @SuppressWarnings("unchecked")
-    private void markChangedAndDeletedRowsInOriginalAsMissing(List<SimpleEntry<List<String>, DiffType>> diffTableRows, Delta delta) {
-        List<DiffableRow> deletedLines = (List<DiffableRow>) delta.getOriginal().getLines();
-        for (DiffableRow row : deletedLines) {
-            diffTableRows.add(new SimpleEntry<>(row.row, DiffType.DELETE));
-        }
+    private static final class RowCount {
+        int total;
+        int unmatched;
     }
 
-    @SuppressWarnings("unchecked")
-    private void markChangedAndInsertedRowsInRevisedAsNew(List<SimpleEntry<List<String>, DiffType>> diffTableRows, Delta delta) {
-        List<DiffableRow> insertedLines = (List<DiffableRow>) delta.getRevised().getLines();
-        for (DiffableRow row : insertedLines) {
-            diffTableRows.add(new SimpleEntry<>(row.row, DiffType.INSERT));
+    private static List<DiffableRow> getDiffableRows(DataTable raw) {
+        List<DiffableRow> result = new ArrayList<>(raw.height());
+        for (List<String> row : raw.cells()) {
+            result.add(new DiffableRow(row, row));
         }
+        return result;
     }
 }
@@ -4,9 +4,23 @@ import java.io.IOException;
 import java.util.List;
 
 class TablePrinter {
-    private int[][] cellLengths;
+    private final StringBuilder escaped = new StringBuilder();
+    private final int maxRows;
     private int[] maxLengths;
 
+    TablePrinter() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxRows the number of rows to print, any further rows are
+     *                summarized in a single line
+     */
+    TablePrinter(int maxRows) {
+        if (maxRows < 0) throw new IllegalArgumentException("maxRows must not be negative but was " + maxRows);
+        this.maxRows = maxRows;
+    }
+
     void printTable(List<List<String>> table, StringBuilder appendable) {
         try {
             printTable(table, (Appendable) appendable);
@@ -16,41 +30,42 @@ class TablePrinter {
     }
 
     void printTable(List<List<String>> table, Appendable appendable) throws IOException {
-        calculateColumnAndMaxLengths(table);
-        for (int i = 0; i < table.size(); ++i) {
+        int rowCount = Math.min(table.size(), maxRows);
+        calculateMaxLengths(table, rowCount);
+        for (int i = 0; i < rowCount; ++i) {
             printRow(table.get(i), i, appendable);
             appendable.append("\n");
         }
-
+        int omitted = table.size() - rowCount;
+        if (omitted > 0) {
+            appendable.append("      ... ");
+            appendable.append(String.valueOf(omitted));
+            appendable.append(omitted == 1 ? " more row\n" : " more rows\n");
+        }
     }
 
     protected void printStartIndent(Appendable buffer, int rowIndex) throws IOException {
         buffer.append("      ");
     }
 
-    private void calculateColumnAndMaxLengths(List<List<String>> rows) {
+    private void calculateMaxLengths(List<List<String>> rows, int rowCount) {
         // find the largest row
         int columnCount = 0;
-        for (List<String> row : rows) {
-            if (columnCount < row.size()) {
-                columnCount = row.size();
-            }
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            columnCount = Math.max(columnCount, rows.get(rowIndex).size());
         }
 
-        cellLengths = new int[rows.size()][columnCount];
         maxLengths = new int[columnCount];
-        for (int rowIndex = 0; rowIndex < rows.size(); rowIndex++) {
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
             final List<String> cells = rows.get(rowIndex);
             for (int colIndex = 0; colIndex < columnCount; colIndex++) {
-                final String cell = getCellSafely(cells, colIndex);
-                final int length = escapeCell(cell).length();
-                cellLengths[rowIndex][colIndex] = length;
+                final int length = escapedLength(getCellSafely(cells, colIndex));
                 maxLengths[colIndex] = Math.max(maxLengths[colIndex], length);
             }
         }
     }
 
-    private String getCellSafely(final List<String> cells, final int colIndex) {
+    private static String getCellSafely(final List<String> cells, final int colIndex) {
         return (colIndex < cells.size()) ? cells.get(colIndex) : "";
     }
 
@@ -58,9 +73,10 @@ class TablePrinter {
         printStartIndent(buffer, rowIndex);
         buffer.append("| ");
         for (int colIndex = 0; colIndex < maxLengths.length; colIndex++) {
-            String cellText = escapeCell(getCellSafely(cells, colIndex));
-            buffer.append(cellText);
-            int padding = maxLengths[colIndex] - cellLengths[rowIndex][colIndex];
+            escaped.setLength(0);
+            escapeCell(getCellSafely(cells, colIndex), escaped);
+            buffer.append(escaped);
+            int padding = maxLengths[colIndex] - escaped.length();
             padSpace(buffer, padding);
             if (colIndex < maxLengths.length - 1) {
                 buffer.append(" | ");
@@ -70,24 +86,58 @@ class TablePrinter {
         }
     }
 
-    private String escapeCell(String cell) {
+    private static int escapedLength(String cell) {
+        if (cell == null) {
+            return 0;
+        }
+
+        if (cell.isEmpty()) {
+            return "[empty]".length();
+        }
+
+        int length = cell.length();
+        for (int i = 0; i < cell.length(); i++) {
+            if (isEscaped(cell, i)) {
+                length++;
+            }
+        }
+        return length;
+    }
+
+    private static void escapeCell(String cell, StringBuilder escaped) {
         if (cell == null) {
-            return "";
+            return;
         }
 
         if (cell.isEmpty()) {
-            return "[empty]";
+            escaped.append("[empty]");
+            return;
         }
 
-        return cell
-                .replaceAll("\\\\(?!\\|)", "\\\\\\\\")
-                .replaceAll("\\n", "\\\\n")
-                .replaceAll("\\|", "\\\\|");
+        for (int i = 0; i < cell.length(); i++) {
+            char c = cell.charAt(i);
+            if (isEscaped(cell, i)) {
+                escaped.append('\\');
+            }
+            escaped.append(c == '\n' ? 'n' : c);
+        }
+    }
+
+    /**
+     * Backslashes, new lines and pipes are escaped with a backslash. A
+     * backslash that already escapes a pipe is left as is.
+     */
+    private static boolean isEscaped(String cell, int index) {
+        char c = cell.charAt(index);
+        if (c == '\\') {
+            return index + 1 == cell.length() || cell.charAt(index + 1) != '|';
+        }
+        return c == '\n' || c == '|';
     }
 
     private void padSpace(Appendable buffer, int indent) throws IOException {
         for (int i = 0; i < indent; i++) {
-            buffer.append(" ");
+            buffer.append(' ');
         }
     }
 }
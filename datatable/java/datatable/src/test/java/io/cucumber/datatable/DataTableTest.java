@@ -7,6 +7,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,10 +25,13 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class DataTableTest {
@@ -361,6 +366,40 @@ class DataTableTest {
         assertThrows(IllegalArgumentException.class, () -> DataTable.create(table, tableConverter));
     }
 
+    @Test
+    void can_wrap_table_without_copying() {
+        List<List<Integer>> rows = asList(
+                asList(1, 4, 7),
+                asList(11, 44, 77)
+        );
+        DataTable table = DataTable.wrap(rows, row -> row, String::valueOf, tableConverter);
+        assertEquals(asList(asList("1", "4", "7"), asList("11", "44", "77")), table.cells());
+        assertEquals("44", table.cell(1, 1));
+        assertEquals(asList("4", "44"), table.column(1));
+        assertSame(tableConverter, table.getTableConverter());
+        assertThrows(UnsupportedOperationException.class, () -> table.cells().remove(0));
+    }
+
+    @Test
+    void can_wrap_table_without_columns() {
+        List<List<Integer>> rows = asList(emptyList(), emptyList());
+        DataTable table = DataTable.wrap(rows, row -> row, String::valueOf, tableConverter);
+        assertTrue(table.isEmpty());
+    }
+
+    @Test
+    void can_not_wrap_non_rectangular_tables() {
+        List<List<Integer>> rows = asList(
+                asList(1, 4, 7),
+                asList(11, 44)
+        );
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> DataTable.wrap(rows, row -> row, String::valueOf, tableConverter)
+        );
+        assertThat(exception.getMessage(), is("Table is not rectangular: expected 3 column(s) but found 2."));
+    }
+
     @Test
     void can_create_table_from_list_of_list_of_string() {
         DataTable dataTable = createSimpleTable();
@@ -541,6 +580,71 @@ class DataTableTest {
         assertEquals(singletonList(expected), table.asMaps());
     }
 
+    @Test
+    void asMaps_preserves_column_order() {
+        DataTable table = parse("",
+                "| c | a | b |",
+                "| 1 | 2 | 3 |",
+                "| 4 | 5 | 6 |"
+        );
+
+        List<Map<String, String>> maps = table.asMaps();
+
+        assertEquals(asList("c", "a", "b"), new ArrayList<>(maps.get(1).keySet()));
+        assertEquals(asList("4", "5", "6"), new ArrayList<>(maps.get(1).values()));
+        assertEquals("{c=1, a=2, b=3}", maps.get(0).toString());
+        assertEquals("5", maps.get(1).get("a"));
+        assertNull(maps.get(1).get("d"));
+    }
+
+    @Test
+    void asMaps_returns_unmodifiable_maps() {
+        DataTable table = createSimpleNumberTable();
+        Map<String, String> map = table.asMaps().get(0);
+
+        assertThrows(UnsupportedOperationException.class, () -> map.put("1", "3"));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("1"));
+        assertThrows(UnsupportedOperationException.class, map::clear);
+    }
+
+    @Test
+    void asMaps_of_duplicate_keys_without_body_is_empty() {
+        DataTable table = parse("| 1 | 1 |");
+
+        assertEquals(emptyList(), table.asMaps());
+    }
+
+    @Test
+    void asDoubleColumns_delegates_to_converter() {
+        DataTable table = createSimpleNumberTable();
+        table.asDoubleColumns();
+        verify(tableConverter).toDoubleColumns(table);
+    }
+
+    @Test
+    void asIntColumns_delegates_to_converter() {
+        DataTable table = createSimpleNumberTable();
+        table.asIntColumns();
+        verify(tableConverter).toIntColumns(table);
+    }
+
+    @Test
+    void asLongColumns_delegates_to_converter() {
+        DataTable table = createSimpleNumberTable();
+        table.asLongColumns();
+        verify(tableConverter).toLongColumns(table);
+    }
+
+    @Test
+    void default_column_conversion_reports_empty_cells() {
+        DataTable table = DataTable.create(asList(asList("1", "2"), asList("3", null)), tableConverter);
+        doCallRealMethod().when(tableConverter).toIntColumns(table);
+        when(tableConverter.toLists(table, Integer.class)).thenReturn(asList(asList(1, 2), asList(3, null)));
+
+        CucumberDataTableException exception = assertThrows(CucumberDataTableException.class, table::asIntColumns);
+        assertThat(exception.getMessage(), is("Can't convert DataTable to int[][]. The cell at row 1, column 1 was empty"));
+    }
+
     @Test
     void asMap_delegates_to_converter() {
         List<List<String>> table1 = asList(asList("hundred", "100"), asList("thousand", "1000"));
@@ -595,6 +699,53 @@ class DataTableTest {
         assertEquals(expected, appendable.toString());
     }
 
+    @Test
+    void can_print_first_rows_of_table() throws IOException {
+        DataTable table = DataTable.create(asList(
+                asList("one", "four"),
+                asList("1", "4"),
+                asList("22222", "44444"),
+                asList("333333", "444444")
+        ));
+        StringBuilder appendable = new StringBuilder();
+        table.print(appendable, 2);
+        String expected = "" +
+                "      | one | four |\n" +
+                "      | 1   | 4    |\n" +
+                "      ... 2 more rows\n";
+        assertEquals(expected, appendable.toString());
+    }
+
+    @Test
+    void can_print_table_with_escaped_cells() {
+        DataTable table = DataTable.create(asList(
+                asList("a|b", "c\\d", "e\\|f", "g\nh"),
+                asList("1", "2", "3", "4")
+        ));
+        String expected = "" +
+                "      | a\\|b | c\\\\d | e\\\\|f | g\\nh |\n" +
+                "      | 1    | 2    | 3     | 4    |\n";
+        assertEquals(expected, table.toString());
+    }
+
+    @Test
+    void views_create_rows_once() {
+        DataTable table = createSimpleTable();
+        assertSame(table.cells().get(1), table.cells().get(1));
+        assertSame(table.transpose().cells().get(1), table.transpose().cells().get(1));
+        DataTable subTable = table.subTable(0, 1);
+        assertSame(subTable.cells().get(1), subTable.cells().get(1));
+        assertEquals(asList("55555", "666666"), subTable.cells().get(1));
+    }
+
+    @Test
+    void create_does_not_view_the_original_table() {
+        List<String> row = new ArrayList<>(asList("one", "four"));
+        DataTable table = DataTable.create(singletonList(row));
+        row.set(0, "two");
+        assertEquals(asList("one", "four"), table.row(0));
+    }
+
     @Test
     void repeated_transposition_yields_original_table() {
         DataTable table = createSimpleTable();
@@ -616,6 +767,4 @@ class DataTableTest {
         );
         return DataTable.create(raw, tableConverter);
     }
-
-
 }
@@ -10,11 +10,13 @@ import java.beans.ConstructorProperties;
 import java.lang.reflect.Type;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
 
 import static io.cucumber.datatable.DataTable.emptyDataTable;
 import static io.cucumber.datatable.TableParser.parse;
@@ -26,9 +28,11 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Locale.ENGLISH;
+import static java.util.Locale.GERMAN;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -48,6 +52,8 @@ class DataTableTypeRegistryTableConverterTest {
     }.getType();
     private static final Type MAP_OF_STRING_TO_LIST_OF_DATE = new TypeReference<Map<String, List<Date>>>() {
     }.getType();
+    private static final Type LIST_OF_COORDINATE = new TypeReference<List<Coordinate>>() {
+    }.getType();
     private static final Type LIST_OF_AUTHOR = new TypeReference<List<Author>>() {
     }.getType();
     private static final Type LIST_OF_MAP_OF_STRING_TO_INT = new TypeReference<List<Map<String, Integer>>>() {
@@ -133,6 +139,68 @@ class DataTableTypeRegistryTableConverterTest {
         assertEquals(emptyList(), converter.convert(table, LIST_OF_LIST_OF_INT));
     }
 
+    @Test
+    void convert_to_double_columns() {
+        DataTable table = parse("",
+                "| 1,042.5 | -1.5E3 |",
+                "| 0.25    | 7      |"
+        );
+        double[][] columns = converter.toDoubleColumns(table);
+        assertArrayEquals(new double[]{1042.5, 0.25}, columns[0]);
+        assertArrayEquals(new double[]{-1500, 7}, columns[1]);
+    }
+
+    @Test
+    void convert_to_double_columns__locale_aware() {
+        TableConverter german = new DataTableTypeRegistryTableConverter(new DataTableTypeRegistry(GERMAN));
+        DataTable table = parse("| 1.042,5 |");
+        assertArrayEquals(new double[][]{{1042.5}}, german.toDoubleColumns(table));
+    }
+
+    @Test
+    void convert_to_int_and_long_columns() {
+        DataTable table = parse("",
+                "| 1  | -2   | 0x10 |",
+                "| 42 | +010 | 0    |"
+        );
+        assertArrayEquals(new int[][]{{1, 42}, {-2, 8}, {16, 0}}, converter.toIntColumns(table));
+        assertArrayEquals(new long[][]{{1, 42}, {-2, 8}, {16, 0}}, converter.toLongColumns(table));
+        assertEquals(converter.toLists(table, Integer.class), asList(asList(1, -2, 16), asList(42, 8, 0)));
+    }
+
+    @Test
+    void convert_to_columns__empty_table() {
+        DataTable table = emptyDataTable();
+        assertEquals(0, converter.toDoubleColumns(table).length);
+        assertEquals(0, converter.toIntColumns(table).length);
+        assertEquals(0, converter.toLongColumns(table).length);
+    }
+
+    @Test
+    void convert_to_int_columns__unparsable_cell() {
+        DataTable table = parse("",
+                "| 1 | 2     |",
+                "| 3 | three |"
+        );
+        CucumberDataTableException exception = assertThrows(
+                CucumberDataTableException.class,
+                () -> converter.toIntColumns(table)
+        );
+        assertThat(exception.getMessage(), is("" +
+                "Can't convert DataTable to int[][]. Could not parse the cell at row 1, column 1: 'three'"));
+    }
+
+    @Test
+    void convert_to_double_columns__empty_cell() {
+        DataTable table = DataTable.create(singletonList(asList("1", null)));
+        CucumberDataTableException exception = assertThrows(
+                CucumberDataTableException.class,
+                () -> converter.toDoubleColumns(table)
+        );
+        assertThat(exception.getMessage(), is("" +
+                "Can't convert DataTable to double[][]. The cell at row 0, column 1 was empty"));
+    }
+
     @Test
     void convert_to_empty_list__only_header() {
         DataTable table = parse("",
@@ -209,6 +277,83 @@ class DataTableTypeRegistryTableConverterTest {
         assertEquals(expected, converter.convert(table, LIST_OF_INT));
     }
 
+    @Test
+    void convert_to_list__in_parallel_keeps_row_order() {
+        TableConverter converter = new DataTableTypeRegistryTableConverter(registry, ForkJoinPool.commonPool(), 2);
+        registry.defineDataTableType(new DataTableType(Coordinate.class, COORDINATE_TABLE_ENTRY_TRANSFORMER));
+
+        List<List<String>> raw = new ArrayList<>();
+        List<Coordinate> expected = new ArrayList<>();
+        raw.add(asList("lat", "lon"));
+        for (int i = 0; i < 1000; i++) {
+            raw.add(asList(String.valueOf(i), String.valueOf(-i)));
+            expected.add(new Coordinate(i, -i));
+        }
+        DataTable table = DataTable.create(raw);
+
+        assertEquals(expected, converter.toList(table, Coordinate.class));
+        assertEquals(raw, converter.toLists(table, String.class));
+    }
+
+    @Test
+    void convert_to_list__reports_first_failed_row() {
+        TableConverter parallel = new DataTableTypeRegistryTableConverter(registry, ForkJoinPool.commonPool(), 2);
+        registry.defineDataTableType(new DataTableType(Coordinate.class, COORDINATE_TABLE_ROW_TRANSFORMER));
+
+        List<List<String>> raw = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            raw.add(asList(String.valueOf(i), i == 317 || i >= 900 ? "invalid " + i : String.valueOf(i)));
+        }
+        DataTable table = DataTable.create(raw);
+
+        for (TableConverter tableConverter : asList(converter, parallel)) {
+            CucumberDataTableException exception = assertThrows(
+                    CucumberDataTableException.class,
+                    () -> tableConverter.toList(table, Coordinate.class)
+            );
+            assertThat(exception.getCause().getMessage(), is("Could not transform row 317"));
+            assertThat(exception.getCause().getCause().getMessage(), is("For input string: \"invalid 317\""));
+        }
+    }
+
+    @Test
+    void convert_to_list__reports_first_failed_row_after_header() {
+        TableConverter parallel = new DataTableTypeRegistryTableConverter(registry, ForkJoinPool.commonPool(), 2);
+        registry.defineDataTableType(new DataTableType(Coordinate.class, COORDINATE_TABLE_ENTRY_TRANSFORMER));
+
+        List<List<String>> raw = new ArrayList<>();
+        raw.add(asList("lat", "lon"));
+        for (int i = 1; i <= 1000; i++) {
+            raw.add(asList(String.valueOf(i), i == 317 || i >= 900 ? "invalid " + i : String.valueOf(i)));
+        }
+        DataTable table = DataTable.create(raw);
+
+        for (TableConverter tableConverter : asList(converter, parallel)) {
+            CucumberDataTableException exception = assertThrows(
+                    CucumberDataTableException.class,
+                    () -> tableConverter.toList(table, Coordinate.class)
+            );
+            assertThat(exception.getCause().getMessage(), is("Could not transform row 317"));
+            assertThat(exception.getCause().getCause().getMessage(), is("For input string: \"invalid 317\""));
+        }
+    }
+
+    @Test
+    void convert_to_list__after_registry_changed() {
+        DataTable table = parse("",
+                "| lat  | lon  |",
+                "| 12.1 | 13.2 |"
+        );
+        assertThrows(CucumberDataTableException.class, () -> converter.toList(table, Coordinate.class));
+        assertThrows(CucumberDataTableException.class, () -> converter.convert(table, LIST_OF_COORDINATE));
+
+        registry.defineDataTableType(new DataTableType(Coordinate.class, COORDINATE_TABLE_ENTRY_TRANSFORMER));
+
+        List<Coordinate> expected = singletonList(new Coordinate(12.1, 13.2));
+        assertEquals(expected, converter.toList(table, Coordinate.class));
+        assertEquals(expected, converter.convert(table, LIST_OF_COORDINATE));
+    }
+
     @Test
     void convert_to_list__double_column__throws_exception() {
         DataTable table = parse("",
@@ -8,9 +8,11 @@ import java.util.Map;
 
 import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class DataTableTypeTest {
 
@@ -23,6 +25,33 @@ class DataTableTypeTest {
         assertThat(singleCellType.transform(singletonList(singletonList("12"))), equalTo(singletonList(singletonList(12))));
     }
 
+    @Test
+    void shouldTransformASingleCell() {
+        assertThat(singleCellType.transformCell("12"), equalTo(12));
+    }
+
+    @Test
+    void shouldTransformASingleCellOfATableType() {
+        DataTableType tableType = new DataTableType(
+                new TypeReference<List<List<Integer>>>() {
+                }.getType(),
+                (DataTable table) -> singletonList(singletonList(table.cells().size()))
+        );
+        assertThat(tableType.transformCell("12"), equalTo(1));
+    }
+
+    @Test
+    void shouldExplainWhyASingleCellCouldNotBeTransformed() {
+        CucumberDataTableException exception = assertThrows(
+                CucumberDataTableException.class,
+                () -> singleCellType.transformCell("twelve")
+        );
+        assertThat(exception.getMessage(), is(String.format("" +
+                "'java.util.List<java.util.List<java.lang.Integer>>' could not transform%n" +
+                "      | twelve |%n")));
+        assertThat(exception.getCause(), instanceOf(NumberFormatException.class));
+    }
+
     @Test
     void shouldTransformATableEntry() {
         DataTableType tableType = new DataTableType(
@@ -8,6 +8,7 @@ import java.util.Arrays;
 import java.util.Locale;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
 class NumberParserTest {
@@ -34,4 +35,27 @@ class NumberParserTest {
         assertEquals(new BigDecimal("1042.0000000000000000000002"), english.parseBigDecimal("1,042.0000000000000000000002"));
         assertEquals(new BigDecimal("1042.0000000000000000000002"), german.parseBigDecimal("1.042,0000000000000000000002"));
     }
+
+    @Test
+    void can_parse_exponents_and_signs() {
+        assertEquals(-1.5e3, english.parseDouble("-1.5E3"), 0);
+        assertEquals(1.5e-3, german.parseDouble("+1,5E-3"), 0);
+    }
+
+    @Test
+    void can_parse_ints_and_longs_like_decode() {
+        for (String s : Arrays.asList("0", "7", "-7", "+7", "010", "-010", "0x1F", "#1F", "2147483647")) {
+            assertEquals(Integer.decode(s).intValue(), NumberParser.parseInt(s), s);
+            assertEquals(Long.decode(s).longValue(), NumberParser.parseLong(s), s);
+        }
+    }
+
+    @Test
+    void throws_on_unparsable_numbers() {
+        assertThrows(CucumberDataTableException.class, () -> english.parseDouble(""));
+        assertThrows(CucumberDataTableException.class, () -> english.parseDouble("1.2.3"));
+        assertThrows(CucumberDataTableException.class, () -> german.parseBigDecimal("1a"));
+        assertThrows(NumberFormatException.class, () -> NumberParser.parseInt("-"));
+        assertThrows(NumberFormatException.class, () -> NumberParser.parseInt("2147483648"));
+    }
 }
@@ -349,6 +349,98 @@ class TableDifferTest {
         assertUnorderedDiff(tableWithDuplicate(), otherTableWithDifferentOrderDuplicateAndDeleted(), expected);
     }
 
+    @Test
+    void has_same_rows_in_any_order() {
+        assertTrue(new TableDiffer(table(), table()).hasSameRowsInAnyOrder());
+        assertTrue(new TableDiffer(table(), otherTableWithDifferentOrder()).hasSameRowsInAnyOrder());
+        assertFalse(new TableDiffer(table(), otherTableWithDifferentOrderAndDuplicate()).hasSameRowsInAnyOrder());
+        assertFalse(new TableDiffer(otherTableWithDifferentOrderAndDuplicate(), table()).hasSameRowsInAnyOrder());
+        assertFalse(new TableDiffer(tableWithDuplicate(), otherTableWithDifferentOrderDuplicateAndDeleted()).hasSameRowsInAnyOrder());
+    }
+
+    @Test
+    void unordered_diff_of_large_tables() {
+        List<List<String>> rows = new ArrayList<>();
+        List<List<String>> reversed = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            rows.add(singletonList(String.valueOf(i)));
+            reversed.add(0, singletonList(String.valueOf(i)));
+        }
+        reversed.set(0, singletonList("extra"));
+
+        DataTableDiff diff = new TableDiffer(DataTable.create(rows), DataTable.create(reversed)).calculateUnorderedDiffs();
+
+        String printed = diff.toString();
+        assertTrue(printed.contains("    - | 19999 |\n"));
+        assertTrue(printed.endsWith("    + | extra |\n"));
+    }
+
+    @Test
+    void ordered_diff_of_large_tables() {
+        List<List<String>> rows = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            rows.add(singletonList(String.valueOf(i)));
+        }
+        List<List<String>> changed = new ArrayList<>(rows);
+        changed.set(50000, singletonList("changed"));
+        changed.remove(20000);
+        changed.add(80000, singletonList("inserted"));
+
+        DataTableDiff diff = new TableDiffer(DataTable.create(rows), DataTable.create(changed)).calculateDiffs();
+
+        String printed = diff.toString();
+        assertFalse(diff.isEmpty());
+        assertTrue(printed.contains(
+                "      | 19999    |\n" +
+                "    - | 20000    |\n" +
+                "      | 20001    |\n"));
+        assertTrue(printed.contains(
+                "      | 49999    |\n" +
+                "    - | 50000    |\n" +
+                "    + | changed  |\n" +
+                "      | 50001    |\n"));
+        assertTrue(printed.contains(
+                "      | 80000    |\n" +
+                "    + | inserted |\n" +
+                "      | 80001    |\n"));
+    }
+
+    @Test
+    void ordered_diff_of_large_tables_without_common_rows() {
+        List<List<String>> rows = new ArrayList<>();
+        List<List<String>> other = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            rows.add(singletonList("a" + i));
+            other.add(singletonList("b" + i));
+        }
+
+        DataTableDiff diff = new TableDiffer(DataTable.create(rows), DataTable.create(other)).calculateDiffs();
+
+        String printed = diff.toString();
+        assertTrue(printed.startsWith("    - | a0     |\n"));
+        assertTrue(printed.contains(
+                "    - | a99999 |\n" +
+                "    + | b0     |\n"));
+        assertTrue(printed.endsWith("    + | b99999 |\n"));
+    }
+
+    @Test
+    void ordered_diff_keeps_common_prefix_and_suffix() {
+        String expected = "" +
+                "      | Aslak | aslak@email.com | 123 |\n" +
+                "      | Joe   | joe@email.com   | 234 |\n" +
+                "    + | Joe   | joe@email.com   | 234 |\n" +
+                "      | Bryan | bryan@email.org | 456 |\n" +
+                "      | Ni    | ni@email.com    | 654 |\n";
+        DataTable other = TableParser.parse("" +
+                "| Aslak | aslak@email.com | 123 |\n" +
+                "| Joe   | joe@email.com   | 234 |\n" +
+                "| Joe   | joe@email.com   | 234 |\n" +
+                "| Bryan | bryan@email.org | 456 |\n" +
+                "| Ni    | ni@email.com    | 654 |\n");
+        assertDiff(table(), other, expected);
+    }
+
     private void assertUnorderedDiff(DataTable table, DataTable other, String expected) {
         try {
             table.unorderedDiff(other);
@@ -38,7 +38,14 @@ public final class DataTableHasTheSameRowsAs extends TypeSafeDiagnosingMatcher<D
 
     @Override
     protected boolean matchesSafely(DataTable item, Description description) {
+        // Only create a diff to describe a mismatch
+        if (expectedValue.cells().equals(item.cells())) {
+            return true;
+        }
         TableDiffer tableDiffer = new TableDiffer(expectedValue, item);
+        if (unordered && tableDiffer.hasSameRowsInAnyOrder()) {
+            return true;
+        }
         DataTableDiff diff = unordered ? tableDiffer.calculateUnorderedDiffs() : tableDiffer.calculateDiffs();
 
         if (diff.isEmpty()) {
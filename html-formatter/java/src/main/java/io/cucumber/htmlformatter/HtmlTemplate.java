@@ -0,0 +1,102 @@
+package io.cucumber.htmlformatter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The parts of the html report around the messages. Read from the class
+ * path once and shared by all writers, both as text and as UTF-8 bytes.
+ */
+final class HtmlTemplate {
+    private static HtmlTemplate instance;
+
+    private final String[] preMessage;
+    private final String[] postMessage;
+    private final byte[][] preMessageBytes;
+    private final byte[][] postMessageBytes;
+
+    private HtmlTemplate(String template, String css, String script) {
+        this.preMessage = new String[]{
+                between(template, null, "{{css}}"),
+                css,
+                between(template, "{{css}}", "{{messages}}")
+        };
+        this.postMessage = new String[]{
+                between(template, "{{messages}}", "{{script}}"),
+                script,
+                between(template, "{{script}}", null)
+        };
+        this.preMessageBytes = encode(preMessage);
+        this.postMessageBytes = encode(postMessage);
+    }
+
+    static synchronized HtmlTemplate getInstance() throws IOException {
+        // Not loaded in a static initializer, a missing resource should
+        // fail each writer rather than break the class
+        if (instance == null) {
+            instance = new HtmlTemplate(
+                    readResource("index.mustache.html"),
+                    readResource("cucumber-react.css"),
+                    readResource("cucumber-html.js")
+            );
+        }
+        return instance;
+    }
+
+    void writePreMessage(Writer writer) throws IOException {
+        for (String segment : preMessage) {
+            writer.write(segment);
+        }
+    }
+
+    void writePreMessage(OutputStream out) throws IOException {
+        for (byte[] segment : preMessageBytes) {
+            out.write(segment);
+        }
+    }
+
+    void writePostMessage(Writer writer) throws IOException {
+        for (String segment : postMessage) {
+            writer.write(segment);
+        }
+    }
+
+    void writePostMessage(OutputStream out) throws IOException {
+        for (byte[] segment : postMessageBytes) {
+            out.write(segment);
+        }
+    }
+
+    private static String between(String template, String begin, String end) {
+        int beginIndex = begin == null ? 0 : template.indexOf(begin) + begin.length();
+        int endIndex = end == null ? template.length() : template.indexOf(end);
+        return template.substring(beginIndex, endIndex);
+    }
+
+    private static byte[][] encode(String[] segments) {
+        byte[][] bytes = new byte[segments.length][];
+        for (int i = 0; i < segments.length; i++) {
+            bytes[i] = segments[i].getBytes(UTF_8);
+        }
+        return bytes;
+    }
+
+    private static String readResource(String name) throws IOException {
+        InputStream resource = HtmlTemplate.class.getResourceAsStream(name);
+        requireNonNull(resource, name + " could not be loaded");
+        try (InputStream in = resource) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                bytes.write(buffer, 0, read);
+            }
+            return new String(bytes.toByteArray(), UTF_8);
+        }
+    }
+}
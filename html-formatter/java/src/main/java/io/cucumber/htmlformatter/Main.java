@@ -3,17 +3,28 @@ package io.cucumber.htmlformatter;
 import io.cucumber.messages.Messages;
 import io.cucumber.messages.NdjsonToMessageIterable;
 
-import java.io.OutputStreamWriter;
-
-import static java.nio.charset.StandardCharsets.UTF_8;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 public class Main {
     public static void main(String[] args) {
-        OutputStreamWriter writer = new OutputStreamWriter(System.out, UTF_8);
-        NdjsonToMessageIterable envelopes = new NdjsonToMessageIterable(System.in);
-        try (MessagesToHtmlWriter htmlWriter = new MessagesToHtmlWriter(writer)) {
-            for (Messages.Envelope envelope : envelopes) {
-                htmlWriter.write(envelope);
+        try (MessagesToHtmlWriter htmlWriter = new MessagesToHtmlWriter(System.out)) {
+            if (args.length == 1 && args[0].equals("--raw")) {
+                // Copies valid ndjson into the report without parsing it
+                htmlWriter.writeNdjson(System.in);
+            } else if (args.length == 0) {
+                for (Messages.Envelope envelope : new NdjsonToMessageIterable(System.in)) {
+                    htmlWriter.write(envelope);
+                }
+            } else {
+                // Merges the messages of each shard into one report
+                List<Path> shards = new ArrayList<>(args.length);
+                for (String arg : args) {
+                    shards.add(Paths.get(arg));
+                }
+                new MessagesMerger().merge(shards, htmlWriter);
             }
         } catch (Throwable e) {
             // Workaround for https://github.com/mojohaus/exec-maven-plugin/issues/141
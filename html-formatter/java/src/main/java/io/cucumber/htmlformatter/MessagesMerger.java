@@ -0,0 +1,222 @@
+package io.cucumber.htmlformatter;
+
+import io.cucumber.messages.BinaryToMessageIterable;
+import io.cucumber.messages.Messages;
+import io.cucumber.messages.NdjsonToMessageIterable;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Merges the messages of several shards of a test run into a single html
+ * report.
+ * <p>
+ * Shards are decoded in parallel but written in the order they are given.
+ * Messages that describe the same thing in several shards, such as sources,
+ * gherkin documents, pickles and step definitions, are written once. They
+ * are identified by their uri or id, so the shards must have been created
+ * with the same, deterministic, ids. The test run is started by the first
+ * shard and finished when all shards have finished. It only succeeds when
+ * every shard finished successfully, a shard that did not finish, for example
+ * because it crashed, fails the test run.
+ */
+public final class MessagesMerger {
+    // Limits the memory used by shards that are decoded ahead of the writer
+    private static final int BUFFERED_MESSAGES_PER_SHARD = 1024;
+    private static final Messages.Envelope END_OF_SHARD = Messages.Envelope.newBuilder().build();
+
+    private final int parallelism;
+
+    public MessagesMerger() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism the number of shards to decode at the same time
+     */
+    public MessagesMerger(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be positive but was " + parallelism);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Merges shards into an html report. Shards with a {@code .ndjson}
+     * extension are read as ndjson, others as binary protobuf messages.
+     *
+     * @param shards the messages of each shard
+     * @param writer the html report to write to
+     * @throws IOException if a shard could not be read or the report
+     *                     could not be written
+     */
+    public void merge(List<Path> shards, MessagesToHtmlWriter writer) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, shards.size())), runnable -> {
+            Thread thread = new Thread(runnable, "html-formatter-shard-decoder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // Submitted in order, the shard being written is always decoding
+            List<Shard> decoding = new ArrayList<>(shards.size());
+            for (Path path : shards) {
+                Shard shard = new Shard(path);
+                executor.execute(shard::decode);
+                decoding.add(shard);
+            }
+
+            Deduplicator deduplicator = new Deduplicator();
+            for (Shard shard : decoding) {
+                for (Messages.Envelope envelope = shard.take(); envelope != END_OF_SHARD; envelope = shard.take()) {
+                    if (deduplicator.isFirst(envelope)) {
+                        writer.write(envelope);
+                    }
+                }
+                deduplicator.endOfShard(shard.path);
+            }
+            Messages.TestRunFinished testRunFinished = deduplicator.testRunFinished();
+            if (testRunFinished != null) {
+                writer.write(Messages.Envelope.newBuilder().setTestRunFinished(testRunFinished).build());
+            }
+        } finally {
+            // Stops decoding the remaining shards when writing failed
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class Shard {
+        private final Path path;
+        private final BlockingQueue<Messages.Envelope> envelopes = new ArrayBlockingQueue<>(BUFFERED_MESSAGES_PER_SHARD);
+        private volatile Throwable failure;
+
+        Shard(Path path) {
+            this.path = path;
+        }
+
+        void decode() {
+            try (InputStream input = new BufferedInputStream(Files.newInputStream(path))) {
+                Iterable<Messages.Envelope> decoded = path.getFileName().toString().endsWith(".ndjson")
+                        ? new NdjsonToMessageIterable(input)
+                        : new BinaryToMessageIterable(input);
+                for (Messages.Envelope envelope : decoded) {
+                    envelopes.put(envelope);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable t) {
+                failure = t;
+            }
+            try {
+                envelopes.put(END_OF_SHARD);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        Messages.Envelope take() throws IOException {
+            Messages.Envelope envelope;
+            try {
+                envelope = envelopes.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while reading " + path, e);
+            }
+            if (envelope == END_OF_SHARD && failure != null) {
+                throw new IOException("Could not read " + path, failure);
+            }
+            return envelope;
+        }
+    }
+
+    private static final class Deduplicator {
+        private final Set<String> written = new HashSet<>();
+        private final List<Path> unfinishedShards = new ArrayList<>();
+        private Messages.TestRunFinished testRunFinished;
+        private boolean shardFinished;
+
+        boolean isFirst(Messages.Envelope envelope) {
+            switch (envelope.getMessageCase()) {
+                case META:
+                    return written.add("meta");
+                case TEST_RUN_STARTED:
+                    return written.add("testRunStarted");
+                case TEST_RUN_FINISHED:
+                    shardFinished = true;
+                    merge(envelope.getTestRunFinished());
+                    return false;
+                case SOURCE:
+                    return written.add("source:" + envelope.getSource().getUri());
+                case GHERKIN_DOCUMENT:
+                    return written.add("gherkinDocument:" + envelope.getGherkinDocument().getUri());
+                case PICKLE:
+                    return written.add("pickle:" + envelope.getPickle().getId());
+                case STEP_DEFINITION:
+                    return written.add("stepDefinition:" + envelope.getStepDefinition().getId());
+                case HOOK:
+                    return written.add("hook:" + envelope.getHook().getId());
+                case PARAMETER_TYPE:
+                    return written.add("parameterType:" + envelope.getParameterType().getId());
+                case TEST_CASE:
+                    return written.add("testCase:" + envelope.getTestCase().getId());
+                case UNDEFINED_PARAMETER_TYPE:
+                    Messages.UndefinedParameterType undefined = envelope.getUndefinedParameterType();
+                    return written.add("undefinedParameterType:" + undefined.getName() + ":" + undefined.getExpression());
+                default:
+                    return true;
+            }
+        }
+
+        void endOfShard(Path shard) {
+            if (!shardFinished) {
+                unfinishedShards.add(shard);
+            }
+            shardFinished = false;
+        }
+
+        /**
+         * Combines the test run finished messages of all shards. Fails when
+         * a shard did not finish.
+         */
+        Messages.TestRunFinished testRunFinished() {
+            if (!unfinishedShards.isEmpty()) {
+                merge(Messages.TestRunFinished.newBuilder()
+                        .setSuccess(false)
+                        .setMessage("The test run did not finish in " + unfinishedShards)
+                        .build());
+            }
+            return testRunFinished;
+        }
+
+        private void merge(Messages.TestRunFinished finished) {
+            if (testRunFinished == null) {
+                testRunFinished = finished;
+                return;
+            }
+            Messages.TestRunFinished.Builder merged = testRunFinished.toBuilder()
+                    .setSuccess(testRunFinished.getSuccess() && finished.getSuccess());
+            if (isAfter(finished.getTimestamp(), testRunFinished.getTimestamp())) {
+                merged.setTimestamp(finished.getTimestamp());
+            }
+            if (!finished.getMessage().isEmpty()) {
+                merged.setMessage(testRunFinished.getMessage().isEmpty()
+                        ? finished.getMessage()
+                        : testRunFinished.getMessage() + "\n" + finished.getMessage());
+            }
+            testRunFinished = merged.build();
+        }
+
+        private static boolean isAfter(Messages.Timestamp a, Messages.Timestamp b) {
+            return a.getSeconds() > b.getSeconds() || (a.getSeconds() == b.getSeconds() && a.getNanos() > b.getNanos());
+        }
+    }
+}
@@ -3,49 +3,74 @@ package io.cucumber.htmlformatter;
 import io.cucumber.messages.Messages;
 import io.cucumber.messages.internal.com.google.protobuf.util.JsonFormat;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.util.Objects.requireNonNull;
 
 /**
  * Writes the message output of a test run as single page html report.
  */
 public class MessagesToHtmlWriter implements AutoCloseable {
 
+    private static final String ATTACHMENT_PREFIX = "{\"attachment\":{";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
     private final JsonFormat.Printer jsonPrinter = JsonFormat
             .printer()
             .omittingInsignificantWhitespace();
-    private final String template;
+    private final HtmlTemplate template;
+    private final char[] buffer = new char[8192];
 
     private final Writer writer;
+    // When set the template is written as bytes, skipping the writer
+    private final OutputStream out;
     private boolean preMessageWritten = false;
     private boolean postMessageWritten = false;
     private boolean firstMessageWritten = false;
     private boolean streamClosed = false;
 
     public MessagesToHtmlWriter(Writer writer) throws IOException {
+        this(writer, null);
+    }
+
+    /**
+     * Creates a writer that writes the html report as UTF-8 to an output
+     * stream.
+     *
+     * @param out the output stream to write to
+     * @throws IOException if the report template could not be read
+     */
+    public MessagesToHtmlWriter(OutputStream out) throws IOException {
+        this(new BufferedWriter(new OutputStreamWriter(out, UTF_8)), out);
+    }
+
+    private MessagesToHtmlWriter(Writer writer, OutputStream out) throws IOException {
         this.writer = writer;
-        this.template = readResource("index.mustache.html");
+        this.out = out;
+        this.template = HtmlTemplate.getInstance();
     }
 
     private void writePreMessage() throws IOException {
-        writeTemplateBetween(writer, template, null, "{{css}}");
-        writeResource(writer, "cucumber-react.css");
-        writeTemplateBetween(writer, template, "{{css}}", "{{messages}}");
+        if (out == null) {
+            template.writePreMessage(writer);
+        } else {
+            template.writePreMessage(out);
+        }
     }
 
     private void writePostMessage() throws IOException {
-        writeTemplateBetween(writer, template, "{{messages}}", "{{script}}");
-        writeResource(writer, "cucumber-html.js");
-        writeTemplateBetween(writer, template, "{{script}}", null);
+        if (out == null) {
+            template.writePostMessage(writer);
+        } else {
+            // Messages are written through the writer, flush them first
+            writer.flush();
+            template.writePostMessage(out);
+        }
     }
 
     /**
@@ -70,7 +95,220 @@ public class MessagesToHtmlWriter implements AutoCloseable {
             writer.write(",");
         }
 
-        writer.write(jsonPrinter.print(envelope));
+        if (envelope.hasAttachment()) {
+            writeAttachment(envelope.getAttachment());
+        } else {
+            jsonPrinter.appendTo(envelope, writer);
+        }
+    }
+
+    /**
+     * Writes cucumber messages from ndjson to the html output without
+     * parsing them. Each line is copied as is, only checking that it looks
+     * like a json object and escaping {@code <} so the messages can not
+     * close the script they are embedded in. Blank lines are skipped.
+     * <p>
+     * Use this when the ndjson was written by a cucumber implementation
+     * and is known to be valid.
+     *
+     * @param ndjson the messages, as UTF-8 encoded ndjson
+     * @throws IOException if an IO error occurs or a line is not a json
+     *                     object
+     */
+    public void writeNdjson(InputStream ndjson) throws IOException {
+        if (streamClosed) {
+            throw new IOException("Stream closed");
+        }
+
+        if (!preMessageWritten) {
+            writePreMessage();
+            preMessageWritten = true;
+        }
+
+        if (out != null) {
+            // Messages written before are still in the writer
+            writer.flush();
+        }
+        byte[] input = new byte[8192];
+        // Room for escaping every byte and a partial character
+        byte[] output = new byte[6 * input.length + 4];
+        int length = 0;
+        int line = 1;
+        boolean inMessage = false;
+        byte last = 0;
+        for (int read = ndjson.read(input); read != -1; read = ndjson.read(input)) {
+            for (int i = 0; i < read; i++) {
+                byte b = input[i];
+                if (b == '\n') {
+                    if (inMessage && last != '}') {
+                        throw new IOException("Line " + line + " is not a json object");
+                    }
+                    inMessage = false;
+                    line++;
+                    continue;
+                }
+                if (!inMessage) {
+                    if (isWhitespace(b)) {
+                        continue;
+                    }
+                    if (b != '{') {
+                        throw new IOException("Line " + line + " is not a json object");
+                    }
+                    if (!firstMessageWritten) {
+                        firstMessageWritten = true;
+                    } else {
+                        output[length++] = ',';
+                    }
+                    inMessage = true;
+                }
+                if (b == '<') {
+                    // A '<' can only occur in a json string, where it can be escaped
+                    output[length++] = '\\';
+                    output[length++] = 'u';
+                    output[length++] = '0';
+                    output[length++] = '0';
+                    output[length++] = '3';
+                    output[length++] = 'c';
+                } else {
+                    output[length++] = b;
+                }
+                if (!isWhitespace(b)) {
+                    last = b;
+                }
+            }
+            length = writeBytes(output, length, false);
+        }
+        if (inMessage && last != '}') {
+            throw new IOException("Line " + line + " is not a json object");
+        }
+        writeBytes(output, length, true);
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    /**
+     * Writes the complete UTF-8 characters in the buffer. Returns the
+     * number of bytes left, moved to the start of the buffer.
+     */
+    private int writeBytes(byte[] output, int length, boolean endOfInput) throws IOException {
+        if (out != null) {
+            out.write(output, 0, length);
+            return 0;
+        }
+        // Keep the last character if it may be incomplete
+        int end = length;
+        if (!endOfInput && end > 0 && output[end - 1] < 0) {
+            end--;
+            while (end > 0 && (output[end] & 0xC0) == 0x80) {
+                end--;
+            }
+            if (length - end > 3) {
+                end = length;
+            }
+        }
+        writer.write(new String(output, 0, end, UTF_8));
+        System.arraycopy(output, end, output, 0, length - end);
+        return length - end;
+    }
+
+    /**
+     * Writes an attachment envelope without creating its json representation
+     * in memory. Attachments may contain large screenshots or videos.
+     * <p>
+     * The body is written first, followed by the other fields as printed by
+     * the json printer.
+     */
+    private void writeAttachment(Messages.Attachment attachment) throws IOException {
+        Messages.Envelope withoutBody = Messages.Envelope.newBuilder()
+                .setAttachment(attachment.toBuilder().clearBody())
+                .build();
+        String json = jsonPrinter.print(withoutBody);
+        if (!json.startsWith(ATTACHMENT_PREFIX)) {
+            throw new IllegalStateException("Unexpected json for attachment: " + json);
+        }
+        writer.write(ATTACHMENT_PREFIX);
+        writer.write("\"body\":\"");
+        writeJsonString(attachment.getBody());
+        writer.write('"');
+        String otherFields = json.substring(ATTACHMENT_PREFIX.length());
+        if (!otherFields.startsWith("}")) {
+            writer.write(',');
+        }
+        writer.write(otherFields);
+    }
+
+    /**
+     * Writes the contents of a json string in chunks. Escapes the same
+     * characters as the json printer, including those that are not safe in
+     * html.
+     */
+    private void writeJsonString(String value) throws IOException {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (length > buffer.length - 6) {
+                writer.write(buffer, 0, length);
+                length = 0;
+            }
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                case '\\':
+                    buffer[length++] = '\\';
+                    buffer[length++] = c;
+                    break;
+                case '\n':
+                    buffer[length++] = '\\';
+                    buffer[length++] = 'n';
+                    break;
+                case '\r':
+                    buffer[length++] = '\\';
+                    buffer[length++] = 'r';
+                    break;
+                case '\t':
+                    buffer[length++] = '\\';
+                    buffer[length++] = 't';
+                    break;
+                case '\b':
+                    buffer[length++] = '\\';
+                    buffer[length++] = 'b';
+                    break;
+                case '\f':
+                    buffer[length++] = '\\';
+                    buffer[length++] = 'f';
+                    break;
+                case '<':
+                case '>':
+                case '&':
+                case '=':
+                case '\'':
+                case '\u2028':
+                case '\u2029':
+                    length = writeUnicodeEscape(c, length);
+                    break;
+                default:
+                    if (c < 0x20) {
+                        length = writeUnicodeEscape(c, length);
+                    } else {
+                        buffer[length++] = c;
+                    }
+            }
+        }
+        writer.write(buffer, 0, length);
+    }
+
+    private int writeUnicodeEscape(char c, int length) {
+        buffer[length++] = '\\';
+        buffer[length++] = 'u';
+        buffer[length++] = HEX_DIGITS[(c >> 12) & 0xF];
+        buffer[length++] = HEX_DIGITS[(c >> 8) & 0xF];
+        buffer[length++] = HEX_DIGITS[(c >> 4) & 0xF];
+        buffer[length++] = HEX_DIGITS[c & 0xF];
+        return length;
     }
 
     /**
@@ -99,28 +337,4 @@ public class MessagesToHtmlWriter implements AutoCloseable {
         writer.close();
         streamClosed = true;
     }
-
-    private static void writeTemplateBetween(Writer writer, String template, String begin, String end) throws IOException {
-        int beginIndex = begin == null ? 0 : template.indexOf(begin) + begin.length();
-        int endIndex = end == null ? template.length() : template.indexOf(end);
-        writer.write(template.substring(beginIndex, endIndex));
-    }
-
-    private static void writeResource(Writer writer, String name) throws IOException {
-        InputStream resource = MessagesToHtmlWriter.class.getResourceAsStream(name);
-        requireNonNull(resource, name + " could not be loaded");
-        BufferedReader reader = new BufferedReader(new InputStreamReader(resource, UTF_8));
-        char[] buffer = new char[1024];
-        for (int read = reader.read(buffer); read != -1; read = reader.read(buffer)) {
-            writer.write(buffer, 0, read);
-        }
-    }
-
-    private static String readResource(String name) throws IOException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(baos, UTF_8))) {
-            writeResource(writer, name);
-        }
-        return new String(baos.toByteArray(), UTF_8);
-    }
 }
@@ -0,0 +1,191 @@
+package io.cucumber.htmlformatter;
+
+import io.cucumber.messages.Messages.Envelope;
+import io.cucumber.messages.Messages.Pickle;
+import io.cucumber.messages.Messages.Source;
+import io.cucumber.messages.Messages.TestRunFinished;
+import io.cucumber.messages.Messages.TestRunStarted;
+import io.cucumber.messages.Messages.Timestamp;
+import io.cucumber.messages.internal.com.google.protobuf.util.JsonFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MessagesMergerTest {
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void it_merges_shards_into_one_report() throws IOException {
+        Path first = writeNdjson("first.ndjson",
+                testRunStarted(10),
+                source("a.feature"),
+                pickle("1"),
+                pickle("2"),
+                testRunFinished(20, true, "")
+        );
+        Path second = writeBinary("second.bin",
+                testRunStarted(11),
+                source("a.feature"),
+                source("b.feature"),
+                pickle("2"),
+                pickle("3"),
+                testRunFinished(30, false, "failed")
+        );
+
+        String html = merge(asList(first, second));
+
+        List<Envelope> expected = asList(
+                testRunStarted(10),
+                source("a.feature"),
+                pickle("1"),
+                pickle("2"),
+                source("b.feature"),
+                pickle("3"),
+                testRunFinished(30, false, "failed")
+        );
+        assertThat(html, containsString("window.CUCUMBER_MESSAGES = " + toJson(expected) + ";"));
+    }
+
+    @Test
+    void it_fails_the_test_run_when_a_shard_did_not_finish() throws IOException {
+        Path first = writeNdjson("first.ndjson",
+                testRunStarted(10),
+                pickle("1"),
+                testRunFinished(20, true, "")
+        );
+        Path crashed = writeNdjson("crashed.ndjson",
+                testRunStarted(11),
+                pickle("2")
+        );
+
+        String html = merge(asList(first, crashed));
+
+        List<Envelope> expected = asList(
+                testRunStarted(10),
+                pickle("1"),
+                pickle("2"),
+                testRunFinished(20, false, "The test run did not finish in [" + crashed + "]")
+        );
+        assertThat(html, containsString("window.CUCUMBER_MESSAGES = " + toJson(expected) + ";"));
+    }
+
+    @Test
+    void it_merges_more_shards_than_it_decodes_at_once() throws IOException {
+        List<Path> shards = new ArrayList<>();
+        List<Envelope> expected = new ArrayList<>();
+        for (int shard = 0; shard < 8; shard++) {
+            List<Envelope> pickles = new ArrayList<>();
+            for (int pickle = 0; pickle < 3000; pickle++) {
+                pickles.add(pickle(shard + "-" + pickle));
+            }
+            expected.addAll(pickles);
+            pickles.add(testRunFinished(shard, true, ""));
+            shards.add(writeNdjson(shard + ".ndjson", pickles.toArray(new Envelope[0])));
+        }
+        expected.add(testRunFinished(7, true, ""));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (MessagesToHtmlWriter writer = new MessagesToHtmlWriter(bytes)) {
+            new MessagesMerger(2).merge(shards, writer);
+        }
+
+        assertThat(new String(bytes.toByteArray(), UTF_8), containsString(toJson(expected)));
+    }
+
+    @Test
+    void it_fails_when_a_shard_can_not_be_read() throws IOException {
+        Path missing = temp.resolve("missing.ndjson");
+        MessagesToHtmlWriter writer = new MessagesToHtmlWriter(new ByteArrayOutputStream());
+
+        IOException exception = assertThrows(IOException.class,
+                () -> new MessagesMerger().merge(singletonList(missing), writer));
+        assertEquals("Could not read " + missing, exception.getMessage());
+    }
+
+    private String merge(List<Path> shards) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (MessagesToHtmlWriter writer = new MessagesToHtmlWriter(bytes)) {
+            new MessagesMerger().merge(shards, writer);
+        }
+        return new String(bytes.toByteArray(), UTF_8);
+    }
+
+    private Path writeNdjson(String name, Envelope... envelopes) throws IOException {
+        Path path = temp.resolve(name);
+        try (Writer writer = Files.newBufferedWriter(path, UTF_8)) {
+            for (Envelope envelope : envelopes) {
+                JsonFormat.printer().omittingInsignificantWhitespace().appendTo(envelope, writer);
+                writer.write("\n");
+            }
+        }
+        return path;
+    }
+
+    private Path writeBinary(String name, Envelope... envelopes) throws IOException {
+        Path path = temp.resolve(name);
+        try (OutputStream out = Files.newOutputStream(path)) {
+            for (Envelope envelope : envelopes) {
+                envelope.writeDelimitedTo(out);
+            }
+        }
+        return path;
+    }
+
+    private static String toJson(List<Envelope> envelopes) throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        JsonFormat.Printer printer = JsonFormat.printer().omittingInsignificantWhitespace();
+        for (Envelope envelope : envelopes) {
+            if (json.length() > 1) {
+                json.append(",");
+            }
+            printer.appendTo(envelope, json);
+        }
+        return json.append("]").toString();
+    }
+
+    private static Envelope testRunStarted(long seconds) {
+        return Envelope.newBuilder()
+                .setTestRunStarted(TestRunStarted.newBuilder()
+                        .setTimestamp(Timestamp.newBuilder().setSeconds(seconds)))
+                .build();
+    }
+
+    private static Envelope testRunFinished(long seconds, boolean success, String message) {
+        return Envelope.newBuilder()
+                .setTestRunFinished(TestRunFinished.newBuilder()
+                        .setTimestamp(Timestamp.newBuilder().setSeconds(seconds))
+                        .setSuccess(success)
+                        .setMessage(message))
+                .build();
+    }
+
+    private static Envelope source(String uri) {
+        return Envelope.newBuilder()
+                .setSource(Source.newBuilder().setUri(uri).setData("Feature: " + uri))
+                .build();
+    }
+
+    private static Envelope pickle(String id) {
+        return Envelope.newBuilder()
+                .setPickle(Pickle.newBuilder().setId(id).setUri("a.feature"))
+                .build();
+    }
+}
@@ -1,19 +1,24 @@
 package io.cucumber.htmlformatter;
 
+import io.cucumber.messages.Messages.Attachment;
 import io.cucumber.messages.Messages.Envelope;
 import io.cucumber.messages.Messages.TestRunFinished;
 import io.cucumber.messages.Messages.TestRunStarted;
 import io.cucumber.messages.Messages.Timestamp;
+import io.cucumber.messages.internal.com.google.protobuf.util.JsonFormat;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.Test;
 
 import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.StringWriter;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -110,6 +115,126 @@ class MessagesToHtmlWriterTest {
                 "];"));
     }
 
+    @Test
+    void it_writes_attachments_like_the_json_printer() throws IOException {
+        String body = "<script>alert('\"&\"')</script>\\\n\r\t\b\f\u0001\u2028 caf\u00e9 \uD83E\uDD52";
+        Attachment attachment = Attachment.newBuilder()
+                .setBody(body)
+                .setMediaType("text/plain")
+                .setTestStepId("step-1")
+                .build();
+
+        String html = renderAsHtml(Envelope.newBuilder().setAttachment(attachment).build());
+
+        String printedBody = JsonFormat.printer()
+                .omittingInsignificantWhitespace()
+                .print(Attachment.newBuilder().setBody(body).build());
+        assertThat(html, containsString("" +
+                "window.CUCUMBER_MESSAGES = [" +
+                "{\"attachment\":{" + printedBody.substring(1, printedBody.length() - 1) + "," +
+                "\"testStepId\":\"step-1\",\"mediaType\":\"text/plain\"}}" +
+                "];"));
+        assertThat(html, not(containsString("</script>alert")));
+    }
+
+    @Test
+    void it_writes_attachments_without_other_fields() throws IOException {
+        String html = renderAsHtml(Envelope.newBuilder()
+                .setAttachment(Attachment.newBuilder().setBody("hello"))
+                .build());
+        assertThat(html, containsString("window.CUCUMBER_MESSAGES = [{\"attachment\":{\"body\":\"hello\"}}];"));
+    }
+
+    @Test
+    void it_writes_large_attachments() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            body.append(i % 10 == 0 ? '<' : 'a');
+        }
+        String html = renderAsHtml(Envelope.newBuilder()
+                .setAttachment(Attachment.newBuilder().setBody(body.toString()))
+                .build());
+        String expected = body.toString().replace("<", "\\u003c");
+        assertThat(html, containsString("{\"attachment\":{\"body\":\"" + expected + "\"}}"));
+    }
+
+    @Test
+    void it_writes_the_same_html_to_an_output_stream() throws IOException {
+        Envelope envelope = Envelope.newBuilder()
+                .setAttachment(Attachment.newBuilder()
+                        .setBody("caf\u00e9 </script>")
+                        .setMediaType("text/plain"))
+                .build();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (MessagesToHtmlWriter messagesToHtmlWriter = new MessagesToHtmlWriter(bytes)) {
+            messagesToHtmlWriter.write(envelope);
+            messagesToHtmlWriter.write(envelope);
+        }
+
+        assertEquals(renderAsHtml(envelope, envelope), new String(bytes.toByteArray(), UTF_8));
+    }
+
+    @Test
+    void it_copies_ndjson_like_the_json_printer() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            body.append("caf\u00e9 \uD83E\uDD52");
+        }
+        Envelope started = Envelope.newBuilder()
+                .setTestRunStarted(TestRunStarted.newBuilder()
+                        .setTimestamp(Timestamp.newBuilder().setSeconds(10)))
+                .build();
+        Envelope attachment = Envelope.newBuilder()
+                .setAttachment(Attachment.newBuilder().setBody(body.toString()))
+                .build();
+        JsonFormat.Printer printer = JsonFormat.printer().omittingInsignificantWhitespace();
+        byte[] ndjson = (printer.print(attachment) + "\n" + printer.print(attachment) + "\n").getBytes(UTF_8);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (MessagesToHtmlWriter messagesToHtmlWriter = new MessagesToHtmlWriter(bytes)) {
+            messagesToHtmlWriter.write(started);
+            messagesToHtmlWriter.writeNdjson(new ByteArrayInputStream(ndjson));
+            messagesToHtmlWriter.write(started);
+        }
+        StringWriter chars = new StringWriter();
+        try (MessagesToHtmlWriter messagesToHtmlWriter = new MessagesToHtmlWriter(chars)) {
+            messagesToHtmlWriter.write(started);
+            messagesToHtmlWriter.writeNdjson(new ByteArrayInputStream(ndjson));
+            messagesToHtmlWriter.write(started);
+        }
+
+        String expected = renderAsHtml(started, attachment, attachment, started);
+        assertEquals(expected, new String(bytes.toByteArray(), UTF_8));
+        assertEquals(expected, chars.toString());
+    }
+
+    @Test
+    void it_escapes_script_tags_in_ndjson() throws IOException {
+        String ndjson = "{\"source\":{\"data\":\"</script>\"}}\r\n\n  \n{\"meta\":{}}";
+
+        StringWriter html = new StringWriter();
+        try (MessagesToHtmlWriter messagesToHtmlWriter = new MessagesToHtmlWriter(html)) {
+            messagesToHtmlWriter.writeNdjson(new ByteArrayInputStream(ndjson.getBytes(UTF_8)));
+        }
+
+        assertThat(html.toString(), containsString("" +
+                "window.CUCUMBER_MESSAGES = [" +
+                "{\"source\":{\"data\":\"\\u003c/script>\"}}\r," +
+                "{\"meta\":{}}" +
+                "];"));
+    }
+
+    @Test
+    void it_rejects_ndjson_lines_that_are_not_json_objects() throws IOException {
+        String ndjson = "{\"meta\":{}}\n[]\n";
+        MessagesToHtmlWriter messagesToHtmlWriter = new MessagesToHtmlWriter(new StringWriter());
+
+        IOException exception = assertThrows(IOException.class,
+                () -> messagesToHtmlWriter.writeNdjson(new ByteArrayInputStream(ndjson.getBytes(UTF_8))));
+        assertEquals("Line 2 is not a json object", exception.getMessage());
+    }
+
     private static String renderAsHtml(Envelope... messages) throws IOException {
         ByteArrayOutputStream bytes = new ByteArrayOutputStream();
         OutputStreamWriter osw = new OutputStreamWriter(bytes, UTF_8);
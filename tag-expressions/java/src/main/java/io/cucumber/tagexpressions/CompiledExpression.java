@@ -0,0 +1,230 @@
+package io.cucumber.tagexpressions;
+
+import io.cucumber.tagexpressions.TagExpressionParser.And;
+import io.cucumber.tagexpressions.TagExpressionParser.Literal;
+import io.cucumber.tagexpressions.TagExpressionParser.Not;
+import io.cucumber.tagexpressions.TagExpressionParser.Or;
+import io.cucumber.tagexpressions.TagExpressionParser.True;
+import io.cucumber.tagexpressions.TagExpressionOptimizer.AllOf;
+import io.cucumber.tagexpressions.TagExpressionOptimizer.AnyOf;
+import io.cucumber.tagexpressions.TagExpressionOptimizer.False;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * An expression that evaluates tags encoded by a {@link TagDictionary}.
+ * <p>
+ * Nested {@code and} and {@code or} operations are flattened and their
+ * tags are tested at once with a bit mask.
+ */
+public final class CompiledExpression {
+    private final Node root;
+
+    CompiledExpression(TagDictionary dictionary, Expression expression) {
+        this.root = compile(dictionary, expression);
+    }
+
+    /**
+     * Evaluates the expression against the encoded tags of a pickle.
+     *
+     * @param tags tags encoded by the dictionary that compiled this expression
+     * @return true when the tags match the expression
+     */
+    public boolean evaluate(BitSet tags) {
+        return root.evaluate(tags);
+    }
+
+    /**
+     * Evaluates the expression against the encoded tags of many pickles.
+     *
+     * @param tags tags encoded by the dictionary that compiled this expression
+     * @return the indices of the tags that match the expression
+     */
+    public BitSet filter(List<BitSet> tags) {
+        BitSet matches = new BitSet(tags.size());
+        int index = 0;
+        for (BitSet pickleTags : tags) {
+            if (root.evaluate(pickleTags)) {
+                matches.set(index);
+            }
+            index++;
+        }
+        return matches;
+    }
+
+    private static Node compile(TagDictionary dictionary, Expression expression) {
+        if (expression instanceof Literal) {
+            return new HasTag(dictionary.id(((Literal) expression).value));
+        }
+        if (expression instanceof Not) {
+            return new NotNode(compile(dictionary, ((Not) expression).expr));
+        }
+        if (expression instanceof And || expression instanceof AllOf) {
+            List<Expression> operands = new ArrayList<>();
+            flattenAnd(expression, operands);
+            BitSet mask = new BitSet();
+            List<Node> nodes = compileOperands(dictionary, operands, mask);
+            if (!mask.isEmpty()) {
+                // Tags are the cheapest to test, do them first
+                nodes.add(0, new HasAllTags(mask));
+            }
+            return nodes.size() == 1 ? nodes.get(0) : new AndNode(nodes);
+        }
+        if (expression instanceof Or || expression instanceof AnyOf) {
+            List<Expression> operands = new ArrayList<>();
+            flattenOr(expression, operands);
+            BitSet mask = new BitSet();
+            List<Node> nodes = compileOperands(dictionary, operands, mask);
+            if (!mask.isEmpty()) {
+                nodes.add(0, new HasAnyTag(mask));
+            }
+            return nodes.size() == 1 ? nodes.get(0) : new OrNode(nodes);
+        }
+        if (expression instanceof True) {
+            return tags -> true;
+        }
+        if (expression instanceof False) {
+            return tags -> false;
+        }
+        throw new IllegalArgumentException("Can't compile " + expression.getClass() + ". Expression was not created by TagExpressionParser");
+    }
+
+    private static List<Node> compileOperands(TagDictionary dictionary, List<Expression> operands, BitSet mask) {
+        List<Node> nodes = new ArrayList<>(operands.size());
+        for (Expression operand : operands) {
+            if (operand instanceof Literal) {
+                mask.set(dictionary.id(((Literal) operand).value));
+            } else {
+                nodes.add(compile(dictionary, operand));
+            }
+        }
+        return nodes;
+    }
+
+    private static void flattenAnd(Expression expression, List<Expression> operands) {
+        if (expression instanceof And) {
+            And and = (And) expression;
+            flattenAnd(and.left, operands);
+            flattenAnd(and.right, operands);
+        } else if (expression instanceof AllOf) {
+            for (Expression operand : ((AllOf) expression).operands) {
+                flattenAnd(operand, operands);
+            }
+        } else {
+            operands.add(expression);
+        }
+    }
+
+    private static void flattenOr(Expression expression, List<Expression> operands) {
+        if (expression instanceof Or) {
+            Or or = (Or) expression;
+            flattenOr(or.left, operands);
+            flattenOr(or.right, operands);
+        } else if (expression instanceof AnyOf) {
+            for (Expression operand : ((AnyOf) expression).operands) {
+                flattenOr(operand, operands);
+            }
+        } else {
+            operands.add(expression);
+        }
+    }
+
+    private interface Node {
+        boolean evaluate(BitSet tags);
+    }
+
+    private static final class HasTag implements Node {
+        private final int id;
+
+        HasTag(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean evaluate(BitSet tags) {
+            return tags.get(id);
+        }
+    }
+
+    private static final class HasAllTags implements Node {
+        private final int[] ids;
+
+        HasAllTags(BitSet mask) {
+            this.ids = mask.stream().toArray();
+        }
+
+        @Override
+        public boolean evaluate(BitSet tags) {
+            for (int id : ids) {
+                if (!tags.get(id)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class HasAnyTag implements Node {
+        private final BitSet mask;
+
+        HasAnyTag(BitSet mask) {
+            this.mask = mask;
+        }
+
+        @Override
+        public boolean evaluate(BitSet tags) {
+            return tags.intersects(mask);
+        }
+    }
+
+    private static final class NotNode implements Node {
+        private final Node node;
+
+        NotNode(Node node) {
+            this.node = node;
+        }
+
+        @Override
+        public boolean evaluate(BitSet tags) {
+            return !node.evaluate(tags);
+        }
+    }
+
+    private static final class AndNode implements Node {
+        private final Node[] nodes;
+
+        AndNode(List<Node> nodes) {
+            this.nodes = nodes.toArray(new Node[0]);
+        }
+
+        @Override
+        public boolean evaluate(BitSet tags) {
+            for (Node node : nodes) {
+                if (!node.evaluate(tags)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class OrNode implements Node {
+        private final Node[] nodes;
+
+        OrNode(List<Node> nodes) {
+            this.nodes = nodes.toArray(new Node[0]);
+        }
+
+        @Override
+        public boolean evaluate(BitSet tags) {
+            for (Node node : nodes) {
+                if (node.evaluate(tags)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
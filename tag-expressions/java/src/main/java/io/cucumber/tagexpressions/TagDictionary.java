@@ -0,0 +1,54 @@
+package io.cucumber.tagexpressions;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns each tag a number so the tags of a pickle can be encoded once as
+ * a {@link BitSet} and evaluated by a {@link CompiledExpression} without
+ * comparing strings.
+ * <p>
+ * Tags encoded by and expressions compiled with the same dictionary can be
+ * used together, regardless of the order in which they were encoded or
+ * compiled.
+ */
+public final class TagDictionary {
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    /**
+     * Encodes tags as a bit set.
+     *
+     * @param tags the tags of a pickle
+     * @return the encoded tags
+     */
+    public BitSet encode(Collection<String> tags) {
+        BitSet encoded = new BitSet(ids.size());
+        for (String tag : tags) {
+            encoded.set(id(tag));
+        }
+        return encoded;
+    }
+
+    /**
+     * Compiles an expression to evaluate tags encoded by this dictionary.
+     *
+     * @param expression the expression to compile, as created by
+     *                   {@link TagExpressionParser#parse(String)}
+     * @return the compiled expression
+     */
+    public CompiledExpression compile(Expression expression) {
+        return new CompiledExpression(this, expression);
+    }
+
+    int id(String tag) {
+        Integer id = ids.get(tag);
+        if (id != null) {
+            return id;
+        }
+        synchronized (ids) {
+            return ids.computeIfAbsent(tag, t -> ids.size());
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package io.cucumber.tagexpressions;
+
+import io.cucumber.tagexpressions.TagExpressionParser.And;
+import io.cucumber.tagexpressions.TagExpressionParser.Literal;
+import io.cucumber.tagexpressions.TagExpressionParser.Not;
+import io.cucumber.tagexpressions.TagExpressionParser.Or;
+import io.cucumber.tagexpressions.TagExpressionParser.True;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Simplifies parsed tag expressions so they evaluate fewer nodes.
+ * <p>
+ * Nested {@code and} and {@code or} operations are flattened, double
+ * negations and duplicate operands are removed and constants are folded.
+ * When tag frequencies are known, operands are reordered so evaluation
+ * short circuits as early as possible.
+ */
+public final class TagExpressionOptimizer {
+    private static final True TRUE = new True();
+    private static final False FALSE = new False();
+
+    private final Map<String, Double> tagFrequencies;
+
+    private TagExpressionOptimizer(Map<String, Double> tagFrequencies) {
+        this.tagFrequencies = tagFrequencies;
+    }
+
+    /**
+     * Simplifies an expression, keeping the order of its operands.
+     *
+     * @param expression the expression, as created by
+     *                   {@link TagExpressionParser#parse(String)}
+     * @return an equivalent expression
+     */
+    public static Expression optimize(Expression expression) {
+        return new TagExpressionOptimizer(null).simplify(expression);
+    }
+
+    /**
+     * Simplifies an expression. The operands of {@code and} are ordered from
+     * least to most likely to be true, those of {@code or} from most to
+     * least likely.
+     *
+     * @param expression     the expression, as created by
+     *                       {@link TagExpressionParser#parse(String)}
+     * @param tagFrequencies the fraction of pickles that have each tag,
+     *                       tags that are absent are assumed to be rare
+     * @return an equivalent expression
+     */
+    public static Expression optimize(Expression expression, Map<String, Double> tagFrequencies) {
+        if (tagFrequencies == null) throw new NullPointerException("tagFrequencies can not be null");
+        return new TagExpressionOptimizer(tagFrequencies).simplify(expression);
+    }
+
+    private Expression simplify(Expression expression) {
+        if (expression instanceof Literal || expression instanceof True || expression instanceof False) {
+            return expression;
+        }
+        if (expression instanceof Not) {
+            return negate(simplify(((Not) expression).expr));
+        }
+        if (expression instanceof And || expression instanceof AllOf) {
+            return simplifyAllOf(operands(expression));
+        }
+        if (expression instanceof Or || expression instanceof AnyOf) {
+            return simplifyAnyOf(operands(expression));
+        }
+        throw new IllegalArgumentException("Can't optimize " + expression.getClass() + ". Expression was not created by TagExpressionParser");
+    }
+
+    private static Expression negate(Expression expression) {
+        if (expression instanceof Not) {
+            return ((Not) expression).expr;
+        }
+        if (expression instanceof True) {
+            return FALSE;
+        }
+        if (expression instanceof False) {
+            return TRUE;
+        }
+        return new Not(expression);
+    }
+
+    private Expression simplifyAllOf(List<Expression> expressions) {
+        // Keyed by their string representation to remove duplicates
+        Map<String, Expression> operands = new LinkedHashMap<>();
+        for (Expression expression : expressions) {
+            Expression operand = simplify(expression);
+            if (operand instanceof False) {
+                return FALSE;
+            }
+            if (operand instanceof AllOf) {
+                for (Expression nested : ((AllOf) operand).operands) {
+                    operands.put(nested.toString(), nested);
+                }
+            } else if (!(operand instanceof True)) {
+                operands.put(operand.toString(), operand);
+            }
+        }
+        if (isContradictory(operands)) {
+            return FALSE;
+        }
+        switch (operands.size()) {
+            case 0:
+                return TRUE;
+            case 1:
+                return operands.values().iterator().next();
+            default:
+                return new AllOf(sort(operands, Comparator.comparingDouble(this::probability)));
+        }
+    }
+
+    private Expression simplifyAnyOf(List<Expression> expressions) {
+        Map<String, Expression> operands = new LinkedHashMap<>();
+        for (Expression expression : expressions) {
+            Expression operand = simplify(expression);
+            if (operand instanceof True) {
+                return TRUE;
+            }
+            if (operand instanceof AnyOf) {
+                for (Expression nested : ((AnyOf) operand).operands) {
+                    operands.put(nested.toString(), nested);
+                }
+            } else if (!(operand instanceof False)) {
+                operands.put(operand.toString(), operand);
+            }
+        }
+        // a or not a
+        if (isContradictory(operands)) {
+            return TRUE;
+        }
+        switch (operands.size()) {
+            case 0:
+                return FALSE;
+            case 1:
+                return operands.values().iterator().next();
+            default:
+                return new AnyOf(sort(operands, Comparator.comparingDouble(this::probability).reversed()));
+        }
+    }
+
+    /**
+     * Returns true when the operands contain both an expression and its
+     * negation.
+     */
+    private static boolean isContradictory(Map<String, Expression> operands) {
+        for (Expression operand : operands.values()) {
+            if (operand instanceof Not && operands.containsKey(((Not) operand).expr.toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Expression> sort(Map<String, Expression> operands, Comparator<Expression> comparator) {
+        List<Expression> sorted = new ArrayList<>(operands.values());
+        if (tagFrequencies != null) {
+            // Stable, operands that are equally likely keep their order
+            sorted.sort(comparator);
+        }
+        return sorted;
+    }
+
+    /**
+     * Estimates the probability that an expression is true, assuming tags
+     * occur independently.
+     */
+    private double probability(Expression expression) {
+        if (expression instanceof Literal) {
+            Double frequency = tagFrequencies.get(((Literal) expression).value);
+            return frequency == null ? 0 : frequency;
+        }
+        if (expression instanceof Not) {
+            return 1 - probability(((Not) expression).expr);
+        }
+        if (expression instanceof AllOf) {
+            double probability = 1;
+            for (Expression operand : ((AllOf) expression).operands) {
+                probability *= probability(operand);
+            }
+            return probability;
+        }
+        if (expression instanceof AnyOf) {
+            double probabilityNone = 1;
+            for (Expression operand : ((AnyOf) expression).operands) {
+                probabilityNone *= 1 - probability(operand);
+            }
+            return 1 - probabilityNone;
+        }
+        return expression instanceof True ? 1 : 0;
+    }
+
+    private static List<Expression> operands(Expression expression) {
+        List<Expression> operands = new ArrayList<>();
+        addOperands(expression, expression.getClass(), operands);
+        return operands;
+    }
+
+    private static void addOperands(Expression expression, Class<?> type, List<Expression> operands) {
+        if (expression.getClass() != type) {
+            operands.add(expression);
+        } else if (expression instanceof And) {
+            addOperands(((And) expression).left, type, operands);
+            addOperands(((And) expression).right, type, operands);
+        } else if (expression instanceof Or) {
+            addOperands(((Or) expression).left, type, operands);
+            addOperands(((Or) expression).right, type, operands);
+        } else if (expression instanceof AllOf) {
+            operands.addAll(((AllOf) expression).operands);
+        } else {
+            operands.addAll(((AnyOf) expression).operands);
+        }
+    }
+
+    static final class AllOf implements Expression {
+        final List<Expression> operands;
+
+        AllOf(List<Expression> operands) {
+            this.operands = Collections.unmodifiableList(operands);
+        }
+
+        @Override
+        public boolean evaluate(List<String> variables) {
+            for (Expression operand : operands) {
+                if (!operand.evaluate(variables)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return join(operands, " and ");
+        }
+    }
+
+    static final class AnyOf implements Expression {
+        final List<Expression> operands;
+
+        AnyOf(List<Expression> operands) {
+            this.operands = Collections.unmodifiableList(operands);
+        }
+
+        @Override
+        public boolean evaluate(List<String> variables) {
+            for (Expression operand : operands) {
+                if (operand.evaluate(variables)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return join(operands, " or ");
+        }
+    }
+
+    static final class False implements Expression {
+        @Override
+        public boolean evaluate(List<String> variables) {
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "false";
+        }
+    }
+
+    private static String join(List<Expression> operands, String operator) {
+        StringBuilder result = new StringBuilder("( ");
+        for (int i = 0; i < operands.size(); i++) {
+            if (i > 0) {
+                result.append(operator);
+            }
+            result.append(operands.get(i));
+        }
+        return result.append(" )").toString();
+    }
+}
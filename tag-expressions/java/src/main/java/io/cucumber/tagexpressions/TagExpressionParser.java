@@ -183,8 +183,8 @@ public final class TagExpressionParser {
         RIGHT
     }
 
-    private class Literal implements Expression {
-        private final String value;
+    static final class Literal implements Expression {
+        final String value;
 
         Literal(String value) {
             this.value = value;
@@ -201,9 +201,9 @@ public final class TagExpressionParser {
         }
     }
 
-    private class Or implements Expression {
-        private final Expression left;
-        private final Expression right;
+    static final class Or implements Expression {
+        final Expression left;
+        final Expression right;
 
         Or(Expression left, Expression right) {
             this.left = left;
@@ -221,9 +221,9 @@ public final class TagExpressionParser {
         }
     }
 
-    private class And implements Expression {
-        private final Expression left;
-        private final Expression right;
+    static final class And implements Expression {
+        final Expression left;
+        final Expression right;
 
         And(Expression left, Expression right) {
             this.left = left;
@@ -241,8 +241,8 @@ public final class TagExpressionParser {
         }
     }
 
-    private class Not implements Expression {
-        private final Expression expr;
+    static final class Not implements Expression {
+        final Expression expr;
 
         Not(Expression expr) {
             this.expr = expr;
@@ -259,10 +259,15 @@ public final class TagExpressionParser {
         }
     }
 
-    private class True implements Expression {
+    static final class True implements Expression {
         @Override
         public boolean evaluate(List<String> variables) {
             return true;
         }
+
+        @Override
+        public String toString() {
+            return "true";
+        }
     }
 }
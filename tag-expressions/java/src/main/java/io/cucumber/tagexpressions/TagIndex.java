@@ -0,0 +1,305 @@
+package io.cucumber.tagexpressions;
+
+import io.cucumber.tagexpressions.TagExpressionOptimizer.AllOf;
+import io.cucumber.tagexpressions.TagExpressionOptimizer.AnyOf;
+import io.cucumber.tagexpressions.TagExpressionOptimizer.False;
+import io.cucumber.tagexpressions.TagExpressionParser.And;
+import io.cucumber.tagexpressions.TagExpressionParser.Literal;
+import io.cucumber.tagexpressions.TagExpressionParser.Not;
+import io.cucumber.tagexpressions.TagExpressionParser.Or;
+import io.cucumber.tagexpressions.TagExpressionParser.True;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An inverted index from tags to the pickles that have them.
+ * <p>
+ * Selecting the pickles that match an expression combines the pickles of
+ * each tag: intersections for {@code and}, unions for {@code or} and
+ * differences for {@code and not}. The work is proportional to the number
+ * of pickles of the tags involved, not to the total number of pickles.
+ *
+ * @param <T> the type of the pickle ids
+ */
+public final class TagIndex<T> {
+    private static final int[] NONE = new int[0];
+
+    private final List<T> pickles;
+    private final Map<String, int[]> picklesByTag;
+
+    /**
+     * Indexes the tags of pickles.
+     *
+     * @param tagsByPickle the tags of each pickle, selected pickles are
+     *                     returned in the iteration order of this map
+     */
+    public TagIndex(Map<T, ? extends Collection<String>> tagsByPickle) {
+        this.pickles = new ArrayList<>(tagsByPickle.keySet());
+        Map<String, IntList> postings = new HashMap<>();
+        int pickle = 0;
+        for (Collection<String> tags : tagsByPickle.values()) {
+            for (String tag : tags) {
+                postings.computeIfAbsent(tag, t -> new IntList()).addOnce(pickle);
+            }
+            pickle++;
+        }
+        this.picklesByTag = new HashMap<>(postings.size() * 2);
+        postings.forEach((tag, list) -> picklesByTag.put(tag, list.toArray()));
+    }
+
+    /**
+     * Selects the pickles that match an expression.
+     *
+     * @param expression the expression, as created by
+     *                   {@link TagExpressionParser#parse(String)} or
+     *                   {@link TagExpressionOptimizer}
+     * @return the matching pickles
+     */
+    public List<T> select(Expression expression) {
+        Selection selection = evaluate(expression);
+        int[] selected = selection.complement ? complement(selection.pickles, pickles.size()) : selection.pickles;
+        return new AbstractList<T>() {
+            @Override
+            public T get(int index) {
+                return pickles.get(selected[index]);
+            }
+
+            @Override
+            public int size() {
+                return selected.length;
+            }
+        };
+    }
+
+    /**
+     * Returns the fraction of pickles that have each tag. Can be used to
+     * {@link TagExpressionOptimizer#optimize(Expression, Map) optimize}
+     * expressions for these pickles.
+     *
+     * @return the fraction of pickles that have each tag
+     */
+    public Map<String, Double> tagFrequencies() {
+        Map<String, Double> frequencies = new HashMap<>(picklesByTag.size() * 2);
+        picklesByTag.forEach((tag, tagged) -> frequencies.put(tag, (double) tagged.length / pickles.size()));
+        return frequencies;
+    }
+
+    private Selection evaluate(Expression expression) {
+        if (expression instanceof Literal) {
+            return new Selection(picklesByTag.getOrDefault(((Literal) expression).value, NONE), false);
+        }
+        if (expression instanceof Not) {
+            Selection selection = evaluate(((Not) expression).expr);
+            return new Selection(selection.pickles, !selection.complement);
+        }
+        if (expression instanceof And || expression instanceof AllOf) {
+            return evaluateAll(operands(expression, And.class, AllOf.class));
+        }
+        if (expression instanceof Or || expression instanceof AnyOf) {
+            return evaluateAny(operands(expression, Or.class, AnyOf.class));
+        }
+        if (expression instanceof True) {
+            return new Selection(NONE, true);
+        }
+        if (expression instanceof False) {
+            return new Selection(NONE, false);
+        }
+        throw new IllegalArgumentException("Can't select " + expression.getClass() + ". Expression was not created by TagExpressionParser");
+    }
+
+    private Selection evaluateAll(List<Expression> operands) {
+        List<int[]> included = new ArrayList<>();
+        List<int[]> excluded = new ArrayList<>();
+        for (Expression operand : operands) {
+            Selection selection = evaluate(operand);
+            (selection.complement ? excluded : included).add(selection.pickles);
+        }
+        // not a and not b is not (a or b)
+        if (included.isEmpty()) {
+            return new Selection(union(excluded), true);
+        }
+        return new Selection(difference(intersection(included), union(excluded)), false);
+    }
+
+    private Selection evaluateAny(List<Expression> operands) {
+        List<int[]> included = new ArrayList<>();
+        List<int[]> excluded = new ArrayList<>();
+        for (Expression operand : operands) {
+            Selection selection = evaluate(operand);
+            (selection.complement ? excluded : included).add(selection.pickles);
+        }
+        if (excluded.isEmpty()) {
+            return new Selection(union(included), false);
+        }
+        // a or not b or not c is not ((b and c) and not a)
+        return new Selection(difference(intersection(excluded), union(included)), true);
+    }
+
+    private static List<Expression> operands(Expression expression, Class<? extends Expression> binary, Class<? extends Expression> nary) {
+        List<Expression> operands = new ArrayList<>();
+        addOperands(expression, binary, nary, operands);
+        return operands;
+    }
+
+    private static void addOperands(Expression expression, Class<? extends Expression> binary, Class<? extends Expression> nary, List<Expression> operands) {
+        if (binary.isInstance(expression)) {
+            if (expression instanceof And) {
+                addOperands(((And) expression).left, binary, nary, operands);
+                addOperands(((And) expression).right, binary, nary, operands);
+            } else {
+                addOperands(((Or) expression).left, binary, nary, operands);
+                addOperands(((Or) expression).right, binary, nary, operands);
+            }
+        } else if (nary.isInstance(expression)) {
+            List<Expression> nested = expression instanceof AllOf ? ((AllOf) expression).operands : ((AnyOf) expression).operands;
+            for (Expression operand : nested) {
+                addOperands(operand, binary, nary, operands);
+            }
+        } else {
+            operands.add(expression);
+        }
+    }
+
+    private static int[] intersection(List<int[]> sets) {
+        // Start with the smallest set, the intersection can only shrink
+        sets.sort(Comparator.comparingInt(set -> set.length));
+        int[] result = sets.get(0);
+        for (int i = 1; i < sets.size() && result.length > 0; i++) {
+            result = intersection(result, sets.get(i));
+        }
+        return result;
+    }
+
+    private static int[] intersection(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int size = 0;
+        int j = 0;
+        for (int i = 0; i < a.length && j < b.length; i++) {
+            j = search(b, j, a[i]);
+            if (j < b.length && b[j] == a[i]) {
+                result[size++] = a[i];
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Finds the first index at or after {@code from} of an element not less
+     * than {@code key}. Gallops so intersecting a small set with a large one
+     * does not walk the large one.
+     */
+    private static int search(int[] sorted, int from, int key) {
+        int bound = 1;
+        while (from + bound < sorted.length && sorted[from + bound] < key) {
+            bound <<= 1;
+        }
+        int index = Arrays.binarySearch(sorted, from, Math.min(from + bound + 1, sorted.length), key);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private static int[] union(List<int[]> sets) {
+        if (sets.isEmpty()) {
+            return NONE;
+        }
+        int[] result = sets.get(0);
+        for (int i = 1; i < sets.size(); i++) {
+            result = union(result, sets.get(i));
+        }
+        return result;
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                result[size++] = a[i++];
+            } else if (a[i] > b[j]) {
+                result[size++] = b[j++];
+            } else {
+                result[size++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            result[size++] = a[i++];
+        }
+        while (j < b.length) {
+            result[size++] = b[j++];
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int[] difference(int[] a, int[] b) {
+        if (b.length == 0) {
+            return a;
+        }
+        int[] result = new int[a.length];
+        int size = 0;
+        int j = 0;
+        for (int value : a) {
+            j = search(b, j, value);
+            if (j >= b.length || b[j] != value) {
+                result[size++] = value;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int[] complement(int[] sorted, int size) {
+        int[] result = new int[size - sorted.length];
+        int resultSize = 0;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            if (j < sorted.length && sorted[j] == i) {
+                j++;
+            } else {
+                result[resultSize++] = i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sorted pickle indices, or when {@code complement} is true all pickles
+     * except those.
+     */
+    private static final class Selection {
+        final int[] pickles;
+        final boolean complement;
+
+        Selection(int[] pickles, boolean complement) {
+            this.pickles = pickles;
+            this.complement = complement;
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void addOnce(int value) {
+            // Values are added in increasing order, skip duplicate tags
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.cucumber.tagexpressions;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledExpressionTest {
+
+    private static final List<List<String>> PICKLE_TAGS = asList(
+            emptyList(),
+            asList("@a"),
+            asList("@b"),
+            asList("@a", "@b"),
+            asList("@c", "@d"),
+            asList("@a", "@c", "@d"),
+            asList("@b", "@e", "@f"),
+            asList("@a", "@b", "@c", "@d", "@e", "@f"),
+            asList("@a(1)", "@c(3)", "@d(4)"),
+            asList("@unknown")
+    );
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "@a",
+            "not @a",
+            "not not @a",
+            "@a and @b",
+            "@a or @b",
+            "@a and @b and @c",
+            "@a or @b or @c",
+            "@a and not @b and @c",
+            "@a or not @b or @c",
+            "( @a or @b ) and ( @c or @d )",
+            "( @a and @b ) or ( @c and @d )",
+            "not @a or @b and not @c or not @d or @e and @f",
+            "not ( @a and @b ) and ( @e or not @f )",
+            "@a\\(1\\) and not @c\\(3\\)",
+    })
+    void evaluates_like_the_parsed_expression(String infix) {
+        Expression expression = TagExpressionParser.parse(infix);
+        TagDictionary dictionary = new TagDictionary();
+        CompiledExpression compiled = dictionary.compile(expression);
+
+        for (List<String> tags : PICKLE_TAGS) {
+            assertEquals(expression.evaluate(tags), compiled.evaluate(dictionary.encode(tags)), infix + " " + tags);
+        }
+    }
+
+    @Test
+    void filters_many_pickles() {
+        TagDictionary dictionary = new TagDictionary();
+        BitSet[] encoded = PICKLE_TAGS.stream().map(dictionary::encode).toArray(BitSet[]::new);
+        CompiledExpression compiled = dictionary.compile(TagExpressionParser.parse("@a and not @c"));
+
+        BitSet matches = compiled.filter(asList(encoded));
+
+        assertEquals("{1, 3}", matches.toString());
+    }
+
+    @Test
+    void compiles_after_encoding() {
+        TagDictionary dictionary = new TagDictionary();
+        BitSet tags = dictionary.encode(asList("@x", "@y"));
+        CompiledExpression compiled = dictionary.compile(TagExpressionParser.parse("@y and not @z"));
+        assertTrue(compiled.evaluate(tags));
+    }
+
+    @Test
+    void does_not_compile_other_expressions() {
+        TagDictionary dictionary = new TagDictionary();
+        assertThrows(IllegalArgumentException.class, () -> dictionary.compile(variables -> true));
+    }
+}
@@ -0,0 +1,92 @@
+package io.cucumber.tagexpressions;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class TagExpressionOptimizerTest {
+
+    private static final String[] TAGS = {"a", "b", "c", "d"};
+
+    static Stream<Arguments> data() {
+        return Stream.of(
+                arguments("", "true"),
+                arguments("a", "a"),
+                arguments("not not a", "a"),
+                arguments("not not not a", "not ( a )"),
+                arguments("a and b and c", "( a and b and c )"),
+                arguments("a or ( b or c )", "( a or b or c )"),
+                arguments("a and ( b and ( c and d ) )", "( a and b and c and d )"),
+                arguments("a and b and a", "( a and b )"),
+                arguments("a or a", "a"),
+                arguments("a and not a", "false"),
+                arguments("a or not a", "true"),
+                arguments("b and ( a or not a )", "b"),
+                arguments("b or ( a and not a )", "b"),
+                arguments("not ( a and not a )", "true"),
+                arguments("not ( a or not a ) or c", "c"),
+                arguments("( a and b ) or ( a and b )", "( a and b )"),
+                arguments("not ( not a and not b )", "not ( ( not ( a ) and not ( b ) ) )"),
+                arguments("a and ( b or c ) and ( b or c )", "( a and ( b or c ) )")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("data")
+    void simplifies_expression(String infix, String expected) {
+        Expression expression = TagExpressionParser.parse(infix);
+        Expression optimized = TagExpressionOptimizer.optimize(expression);
+
+        assertEquals(expected, optimized.toString());
+        assertEquivalent(expression, optimized);
+    }
+
+    @Test
+    void orders_operands_by_tag_frequency() {
+        Map<String, Double> frequencies = new HashMap<>();
+        frequencies.put("a", 0.9);
+        frequencies.put("b", 0.1);
+        frequencies.put("c", 0.5);
+        Expression expression = TagExpressionParser.parse("not d and a and b and c and ( a or b or c )");
+
+        Expression optimized = TagExpressionOptimizer.optimize(expression, frequencies);
+
+        assertEquals("( b and c and a and ( a or c or b ) and not ( d ) )", optimized.toString());
+        assertEquivalent(expression, optimized);
+    }
+
+    @Test
+    void assumes_unknown_tags_are_rare() {
+        Map<String, Double> frequencies = new HashMap<>();
+        frequencies.put("a", 0.5);
+        Expression expression = TagExpressionParser.parse("a and d");
+
+        Expression optimized = TagExpressionOptimizer.optimize(expression, frequencies);
+
+        assertEquals("( d and a )", optimized.toString());
+    }
+
+    private static void assertEquivalent(Expression expected, Expression actual) {
+        for (int subset = 0; subset < 1 << TAGS.length; subset++) {
+            List<String> tags = new ArrayList<>();
+            for (int i = 0; i < TAGS.length; i++) {
+                if ((subset & 1 << i) != 0) {
+                    tags.add(TAGS[i]);
+                }
+            }
+            assertEquals(expected.evaluate(tags), actual.evaluate(tags), tags.toString());
+            TagDictionary dictionary = new TagDictionary();
+            assertEquals(expected.evaluate(tags), dictionary.compile(actual).evaluate(dictionary.encode(tags)), tags.toString());
+        }
+    }
+}
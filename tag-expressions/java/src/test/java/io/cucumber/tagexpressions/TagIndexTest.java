@@ -0,0 +1,101 @@
+package io.cucumber.tagexpressions;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TagIndexTest {
+
+    private static final String[] TAGS = {"@a", "@b", "@c", "@d", "@e"};
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "@a",
+            "@unknown",
+            "not @a",
+            "not @unknown",
+            "@a and @b",
+            "@a or @b",
+            "@a and not @b",
+            "not @a and not @b",
+            "@a or not @b",
+            "not @a or not @b",
+            "( @a or @b ) and ( @c or not @d )",
+            "not ( @a and @b ) or ( @c and not @e )",
+            "not @a or @b and not @c or not @d or @e and @f",
+            "@a and not @a",
+            "@a or not @a",
+    })
+    void selects_pickles_like_the_expression(String infix) {
+        Map<String, List<String>> tagsByPickle = randomPickles();
+        TagIndex<String> index = new TagIndex<>(tagsByPickle);
+        Expression expression = TagExpressionParser.parse(infix);
+
+        assertEquals(evaluate(expression, tagsByPickle), index.select(expression), infix);
+        Expression optimized = TagExpressionOptimizer.optimize(expression, index.tagFrequencies());
+        assertEquals(evaluate(expression, tagsByPickle), index.select(optimized), infix);
+    }
+
+    @Test
+    void selects_pickles_in_order() {
+        Map<String, List<String>> tagsByPickle = new LinkedHashMap<>();
+        tagsByPickle.put("z", asList("@a", "@a"));
+        tagsByPickle.put("y", emptyList());
+        tagsByPickle.put("x", asList("@b", "@a"));
+        TagIndex<String> index = new TagIndex<>(tagsByPickle);
+
+        assertEquals(asList("z", "x"), index.select(TagExpressionParser.parse("@a")));
+        assertEquals(asList("y"), index.select(TagExpressionParser.parse("not @a")));
+    }
+
+    @Test
+    void calculates_tag_frequencies() {
+        Map<String, List<String>> tagsByPickle = new LinkedHashMap<>();
+        tagsByPickle.put("1", asList("@a", "@b"));
+        tagsByPickle.put("2", asList("@a"));
+        tagsByPickle.put("3", emptyList());
+        tagsByPickle.put("4", asList("@a"));
+        TagIndex<String> index = new TagIndex<>(tagsByPickle);
+
+        Map<String, Double> frequencies = index.tagFrequencies();
+
+        assertEquals(0.75, frequencies.get("@a"));
+        assertEquals(0.25, frequencies.get("@b"));
+    }
+
+    private static Map<String, List<String>> randomPickles() {
+        Random random = new Random(42);
+        Map<String, List<String>> tagsByPickle = new LinkedHashMap<>();
+        for (int i = 0; i < 500; i++) {
+            List<String> tags = new ArrayList<>();
+            for (String tag : TAGS) {
+                if (random.nextInt(3) == 0) {
+                    tags.add(tag);
+                }
+            }
+            tagsByPickle.put("pickle-" + i, tags);
+        }
+        return tagsByPickle;
+    }
+
+    private static List<String> evaluate(Expression expression, Map<String, List<String>> tagsByPickle) {
+        List<String> selected = new ArrayList<>();
+        tagsByPickle.forEach((pickle, tags) -> {
+            if (expression.evaluate(tags)) {
+                selected.add(pickle);
+            }
+        });
+        return selected;
+    }
+}